@@ -1,12 +1,19 @@
 package com.fosso.backend.fosso_backend.action.controller;
 
+import com.fosso.backend.fosso_backend.action.dto.ActionLogFilter;
+import com.fosso.backend.fosso_backend.action.dto.ActionLogPage;
+import com.fosso.backend.fosso_backend.action.model.ActionCountHourly;
 import com.fosso.backend.fosso_backend.action.model.ActionLog;
 import com.fosso.backend.fosso_backend.action.service.ActionLogService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/admin/actions")
@@ -27,20 +34,44 @@ public class ActionController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ActionLog>> getLogsByUserId(@PathVariable String userId) {
-        List<ActionLog> logs = actionLogService.getLogsByUserId(userId);
+    public ResponseEntity<List<ActionLog>> getLogsByUserId(@PathVariable String userId,
+                                                           @RequestParam(defaultValue = "100") int limit) {
+        List<ActionLog> logs = actionLogService.getLogsByUserId(userId, limit);
         return ResponseEntity.ok(logs);
     }
 
     @GetMapping("/resource/{resource}")
-    public ResponseEntity<List<ActionLog>> getLogsByResource(@PathVariable String resource) {
-        List<ActionLog> logs = actionLogService.getLogsByResource(resource);
+    public ResponseEntity<List<ActionLog>> getLogsByResource(@PathVariable String resource,
+                                                             @RequestParam(defaultValue = "100") int limit) {
+        List<ActionLog> logs = actionLogService.getLogsByResource(resource, limit);
         return ResponseEntity.ok(logs);
     }
 
     @GetMapping
-    public ResponseEntity<List<ActionLog>> getAllLogs() {
-        List<ActionLog> logs = actionLogService.getAllLogs();
+    public ResponseEntity<List<ActionLog>> getAllLogs(@RequestParam(defaultValue = "100") int limit) {
+        List<ActionLog> logs = actionLogService.getAllLogs(limit);
         return ResponseEntity.ok(logs);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchLogs(
+            @ModelAttribute ActionLogFilter filter,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int limit) {
+        ActionLogPage page = actionLogService.findLogs(filter, after, limit);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("logs", page.getLogs());
+        response.put("nextCursor", page.getNextCursor());
+        response.put("hasNext", page.getNextCursor() != null);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/hourly")
+    public ResponseEntity<List<ActionCountHourly>> getHourlyCounts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String resource) {
+        return ResponseEntity.ok(actionLogService.getHourlyCounts(from, to, resource));
+    }
+}
@@ -0,0 +1,44 @@
+package com.fosso.backend.fosso_backend.action.dto;
+
+import com.fosso.backend.fosso_backend.action.model.ActionLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+
+@Data
+@AllArgsConstructor
+public class ActionLogCursor {
+
+    private LocalDateTime timestamp;
+    private String actionId;
+
+    public static ActionLogCursor from(ActionLog log) {
+        return new ActionLogCursor(log.getTimestamp(), log.getActionId());
+    }
+
+    public String encode() {
+        return String.join(".", part(timestamp.toString()), part(actionId));
+    }
+
+    public static ActionLogCursor decode(String cursor) {
+        try {
+            String[] parts = Arrays.stream(cursor.split("\\."))
+                    .map(part -> new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8))
+                    .toArray(String[]::new);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ActionLogCursor(LocalDateTime.parse(parts[0]), parts[1]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static String part(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,14 @@
+package com.fosso.backend.fosso_backend.action.dto;
+
+import com.fosso.backend.fosso_backend.action.model.ActionLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ActionLogPage {
+    private List<ActionLog> logs;
+    private String nextCursor;
+}
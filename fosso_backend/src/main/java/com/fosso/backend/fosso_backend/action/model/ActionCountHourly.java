@@ -0,0 +1,21 @@
+package com.fosso.backend.fosso_backend.action.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+// written by ActionLogRollup with $merge, id is "<hour>|<action>|<resource>"
+@Data
+@Document(collection = "action_counts_hourly")
+public class ActionCountHourly {
+    @Id
+    private String id;
+    @Indexed
+    private LocalDateTime hour;
+    private String action;
+    private String resource;
+    private long count;
+}
@@ -1,12 +1,19 @@
 package com.fosso.backend.fosso_backend.action.service;
 
+import com.fosso.backend.fosso_backend.action.dto.ActionLogFilter;
+import com.fosso.backend.fosso_backend.action.dto.ActionLogPage;
+import com.fosso.backend.fosso_backend.action.model.ActionCountHourly;
 import com.fosso.backend.fosso_backend.action.model.ActionLog;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ActionLogService {
     ActionLog logAction(String userId, String action, String resource, String resourceId, String details);
-    List<ActionLog> getLogsByUserId(String userId);
-    List<ActionLog> getLogsByResource(String resource);
-    List<ActionLog> getAllLogs();
+    void enqueueAction(String userId, String action, String resource, String resourceId, String details);
+    List<ActionLog> getLogsByUserId(String userId, int limit);
+    List<ActionLog> getLogsByResource(String resource, int limit);
+    List<ActionLog> getAllLogs(int limit);
+    ActionLogPage findLogs(ActionLogFilter filter, String after, int limit);
+    List<ActionCountHourly> getHourlyCounts(LocalDateTime from, LocalDateTime to, String resource);
 }
@@ -0,0 +1,63 @@
+package com.fosso.backend.fosso_backend.action.service.impl;
+
+import com.fosso.backend.fosso_backend.action.model.ActionLog;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// indexes are created here rather than by annotation so the collection is never auto-created as a plain one
+@Component
+@RequiredArgsConstructor
+public class ActionLogCollectionInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionLogCollectionInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.action-log.retention-days:90}")
+    private long retentionDays;
+
+    @PostConstruct
+    public void ensureCollection() {
+        String collectionName = mongoTemplate.getCollectionName(ActionLog.class);
+        if (!mongoTemplate.collectionExists(collectionName)) {
+            mongoTemplate.getDb().createCollection(collectionName, new CreateCollectionOptions()
+                    .timeSeriesOptions(new TimeSeriesOptions("timestamp")
+                            .metaField("userId")
+                            .granularity(TimeSeriesGranularity.SECONDS))
+                    .expireAfter(retentionDays, TimeUnit.DAYS));
+            logger.info("Created time-series collection {} with {} days retention", collectionName, retentionDays);
+        } else if (!isTimeSeries(collectionName)) {
+            logger.warn("{} is not a time-series collection, enable app.migrations.action-log-timeseries.enabled to convert it",
+                    collectionName);
+        }
+
+        IndexOperations indexOps = mongoTemplate.indexOps(ActionLog.class);
+        indexOps.ensureIndex(new Index().on("userId", Sort.Direction.ASC).on("timestamp", Sort.Direction.DESC)
+                .named("user_timestamp_idx"));
+        indexOps.ensureIndex(new Index().on("resource", Sort.Direction.ASC).on("timestamp", Sort.Direction.DESC)
+                .named("resource_timestamp_idx"));
+        indexOps.ensureIndex(new Index().on("timestamp", Sort.Direction.DESC)
+                .named("timestamp_idx"));
+    }
+
+    public boolean isTimeSeries(String collectionName) {
+        Document info = mongoTemplate.getDb().listCollections()
+                .filter(new Document("name", collectionName))
+                .first();
+        return info != null && "timeseries".equals(info.getString("type"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.fosso.backend.fosso_backend.action.service.impl;
+
+import com.fosso.backend.fosso_backend.action.model.ActionCountHourly;
+import com.fosso.backend.fosso_backend.action.model.ActionLog;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ActionLogRollup {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.action-log.rollup-lookback-hours:3}")
+    private int lookbackHours;
+
+    // recomputes the last few closed hours, $merge replaces so reruns are harmless
+    @Scheduled(cron = "${app.action-log.rollup-cron:0 5 * * * *}")
+    public void rollUp() {
+        // UTC hours, the same buckets $dateTrunc produces; local hours are offset by 30 or 45 minutes in some zones
+        Instant to = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        rollUp(to.minus(lookbackHours, ChronoUnit.HOURS), to);
+    }
+
+    public void rollUp(Instant from, Instant to) {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("timestamp",
+                        new Document("$gte", Date.from(from)).append("$lt", Date.from(to)))),
+                new Document("$group", new Document("_id", new Document()
+                        .append("hour", new Document("$dateTrunc",
+                                new Document("date", "$timestamp").append("unit", "hour")))
+                        .append("action", "$action")
+                        .append("resource", "$resource"))
+                        .append("count", new Document("$sum", 1))),
+                new Document("$project", new Document()
+                        .append("_id", new Document("$concat", List.of(
+                                new Document("$dateToString",
+                                        new Document("date", "$_id.hour").append("format", "%Y-%m-%dT%H")),
+                                "|", new Document("$ifNull", List.of("$_id.action", "")),
+                                "|", new Document("$ifNull", List.of("$_id.resource", "")))))
+                        .append("hour", "$_id.hour")
+                        .append("action", "$_id.action")
+                        .append("resource", "$_id.resource")
+                        .append("count", 1)),
+                new Document("$merge", new Document()
+                        .append("into", mongoTemplate.getCollectionName(ActionCountHourly.class))
+                        .append("on", "_id")
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert")));
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(ActionLog.class))
+                .aggregate(pipeline)
+                .toCollection();
+    }
+}
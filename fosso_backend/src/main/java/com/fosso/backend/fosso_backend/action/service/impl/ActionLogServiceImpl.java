@@ -1,22 +1,47 @@
 package com.fosso.backend.fosso_backend.action.service.impl;
 
+import com.fosso.backend.fosso_backend.action.dto.ActionLogCursor;
+import com.fosso.backend.fosso_backend.action.dto.ActionLogFilter;
+import com.fosso.backend.fosso_backend.action.dto.ActionLogPage;
+import com.fosso.backend.fosso_backend.action.model.ActionCountHourly;
 import com.fosso.backend.fosso_backend.action.model.ActionLog;
 import com.fosso.backend.fosso_backend.action.repository.ActionLogRepository;
 import com.fosso.backend.fosso_backend.action.service.ActionLogService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import static com.fosso.backend.fosso_backend.common.utils.FilterUtils.hasValue;
+
 @Service
 @RequiredArgsConstructor
 public class ActionLogServiceImpl implements ActionLogService {
     private final ActionLogRepository actionLogRepository;
+    private final ActionLogWriter actionLogWriter;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.action-log.max-page-size:500}")
+    private int maxPageSize;
 
     @Override
     public ActionLog logAction(String userId, String action, String resource, String resourceId, String details) {
+        return actionLogRepository.save(buildLog(userId, action, resource, resourceId, details));
+    }
+
+    @Override
+    public void enqueueAction(String userId, String action, String resource, String resourceId, String details) {
+        actionLogWriter.enqueue(buildLog(userId, action, resource, resourceId, details));
+    }
+
+    private ActionLog buildLog(String userId, String action, String resource, String resourceId, String details) {
         ActionLog log = new ActionLog();
         log.setUserId(userId);
         log.setAction(action);
@@ -24,21 +49,82 @@ public class ActionLogServiceImpl implements ActionLogService {
         log.setResourceId(resourceId);
         log.setDetails(details);
         log.setTimestamp(LocalDateTime.now());
-        return actionLogRepository.save(log);
+        return log;
     }
 
     @Override
-    public List<ActionLog> getLogsByUserId(String userId) {
-        return actionLogRepository.findByUserId(userId, Sort.by(Sort.Direction.DESC, "timestamp"));
+    public List<ActionLog> getLogsByUserId(String userId, int limit) {
+        ActionLogFilter filter = new ActionLogFilter();
+        filter.setUserId(userId);
+        return findLogs(filter, null, limit).getLogs();
     }
 
     @Override
-    public List<ActionLog> getLogsByResource(String resource) {
-        return actionLogRepository.findByResource(resource);
+    public List<ActionLog> getLogsByResource(String resource, int limit) {
+        ActionLogFilter filter = new ActionLogFilter();
+        filter.setResource(resource);
+        return findLogs(filter, null, limit).getLogs();
+    }
+
+    @Override
+    public List<ActionLog> getAllLogs(int limit) {
+        return findLogs(new ActionLogFilter(), null, limit).getLogs();
+    }
+
+    @Override
+    public ActionLogPage findLogs(ActionLogFilter filter, String after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+
+        List<Criteria> criteria = new ArrayList<>();
+        if (hasValue(filter.getUserId())) {
+            criteria.add(Criteria.where("userId").is(filter.getUserId()));
+        }
+        if (hasValue(filter.getResource())) {
+            criteria.add(Criteria.where("resource").is(filter.getResource()));
+        }
+        if (hasValue(filter.getAction())) {
+            criteria.add(Criteria.where("action").is(filter.getAction()));
+        }
+        if (filter.getFrom() != null || filter.getTo() != null) {
+            Criteria timeRange = Criteria.where("timestamp");
+            if (filter.getFrom() != null) {
+                timeRange.gte(filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                timeRange.lt(filter.getTo());
+            }
+            criteria.add(timeRange);
+        }
+
+        // newest first, seek past the last row of the previous page
+        if (after != null && !after.isBlank()) {
+            ActionLogCursor cursor = ActionLogCursor.decode(after);
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where("timestamp").lt(cursor.getTimestamp()),
+                    Criteria.where("timestamp").is(cursor.getTimestamp()).and("_id").lt(cursor.getActionId())));
+        }
+
+        Query query = new Query();
+        if (!criteria.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "timestamp", "_id")).limit(pageSize + 1);
+
+        List<ActionLog> logs = mongoTemplate.find(query, ActionLog.class);
+        if (logs.size() <= pageSize) {
+            return new ActionLogPage(logs, null);
+        }
+        List<ActionLog> page = logs.subList(0, pageSize);
+        return new ActionLogPage(page, ActionLogCursor.from(page.getLast()).encode());
     }
 
     @Override
-    public List<ActionLog> getAllLogs() {
-        return actionLogRepository.findAll();
+    public List<ActionCountHourly> getHourlyCounts(LocalDateTime from, LocalDateTime to, String resource) {
+        Criteria criteria = Criteria.where("hour").gte(from).lt(to);
+        if (hasValue(resource)) {
+            criteria.and("resource").is(resource);
+        }
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "hour"));
+        return mongoTemplate.find(query, ActionCountHourly.class);
     }
 }
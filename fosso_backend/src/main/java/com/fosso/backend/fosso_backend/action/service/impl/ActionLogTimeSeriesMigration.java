@@ -0,0 +1,70 @@
+package com.fosso.backend.fosso_backend.action.service.impl;
+
+import com.fosso.backend.fosso_backend.action.model.ActionLog;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoCollection;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.migrations.action-log-timeseries.enabled", havingValue = "true")
+public class ActionLogTimeSeriesMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionLogTimeSeriesMigration.class);
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ActionLogCollectionInitializer collectionInitializer;
+    private final ActionLogWriter actionLogWriter;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        String collectionName = mongoTemplate.getCollectionName(ActionLog.class);
+        if (collectionInitializer.isTimeSeries(collectionName)) {
+            return;
+        }
+
+        // time-series collections can't be renamed into place, so the old one moves aside; the writer is paused
+        // so no batch lands between the rename and the create and brings the name back as a plain collection
+        String legacyName = collectionName + "_legacy";
+        actionLogWriter.pause();
+        try {
+            MongoCollection<Document> current = mongoTemplate.getCollection(collectionName);
+            current.renameCollection(new MongoNamespace(mongoTemplate.getDb().getName(), legacyName));
+            collectionInitializer.ensureCollection();
+        } finally {
+            actionLogWriter.resume();
+        }
+
+        MongoCollection<Document> legacy = mongoTemplate.getCollection(legacyName);
+        MongoCollection<Document> target = mongoTemplate.getCollection(collectionName);
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        long copied = 0;
+        for (Document log : legacy.find(new Document("timestamp", new Document("$type", "date")))) {
+            batch.add(log);
+            if (batch.size() == BATCH_SIZE) {
+                target.insertMany(batch);
+                copied += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            target.insertMany(batch);
+            copied += batch.size();
+        }
+
+        logger.info("Copied {} action logs into time-series collection {}, {} can be dropped once verified",
+                copied, collectionName, legacyName);
+    }
+}
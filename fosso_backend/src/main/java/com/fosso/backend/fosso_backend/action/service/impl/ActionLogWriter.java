@@ -0,0 +1,241 @@
+package com.fosso.backend.fosso_backend.action.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fosso.backend.fosso_backend.action.model.ActionLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+@Component
+@DependsOn("actionLogCollectionInitializer")
+public class ActionLogWriter {
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP_OLDEST,
+        SPILL
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionLogWriter.class);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ActionLogRingBuffer buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Path spillFile;
+    private final Object spillLock = new Object();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public ActionLogWriter(MongoTemplate mongoTemplate,
+                           ObjectMapper objectMapper,
+                           @Value("${app.action-log.capacity:8192}") int capacity,
+                           @Value("${app.action-log.batch-size:500}") int batchSize,
+                           @Value("${app.action-log.flush-interval-ms:1000}") long flushIntervalMs,
+                           @Value("${app.action-log.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                           @Value("${app.action-log.spill-file:./data/action-logs.spill}") String spillFile) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.buffer = new ActionLogRingBuffer(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.spillFile = Path.of(spillFile);
+        this.writerThread = new Thread(this::run, "action-log-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread.start();
+    }
+
+    public void enqueue(ActionLog log) {
+        if (!running) {
+            mongoTemplate.insert(log);
+            return;
+        }
+        if (!buffer.offer(log)) {
+            handleOverflow(log);
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    // holds back batch writes until resume(), called from the same thread; logs keep buffering meanwhile
+    public void pause() {
+        writeLock.lock();
+    }
+
+    public void resume() {
+        writeLock.unlock();
+    }
+
+    private void handleOverflow(ActionLog log) {
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                while (!buffer.offer(log)) {
+                    if (!running) {
+                        mongoTemplate.insert(log);
+                        return;
+                    }
+                    LockSupport.unpark(writerThread);
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!buffer.offer(log)) {
+                    if (buffer.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+            }
+            case SPILL -> spill(List.of(log));
+        }
+    }
+
+    private void run() {
+        replaySpill();
+        long lastFlush = System.currentTimeMillis();
+        while (running) {
+            long elapsed = System.currentTimeMillis() - lastFlush;
+            if (buffer.size() >= batchSize || elapsed >= flushIntervalMs) {
+                drain();
+                lastFlush = System.currentTimeMillis();
+            } else {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs - elapsed));
+            }
+        }
+    }
+
+    private void drain() {
+        List<ActionLog> batch = new ArrayList<>(batchSize);
+        ActionLog log;
+        while ((log = buffer.poll()) != null) {
+            batch.add(log);
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+
+        long droppedCount = dropped.getAndSet(0);
+        if (droppedCount > 0) {
+            logger.warn("Dropped {} action logs because the buffer was full", droppedCount);
+        }
+    }
+
+    private void write(List<ActionLog> batch) {
+        writeLock.lock();
+        try {
+            mongoTemplate.insert(batch, ActionLog.class);
+        } catch (RuntimeException e) {
+            logger.error("Failed to write {} action logs, spilling to {}", batch.size(), spillFile, e);
+            spill(batch);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void spill(List<ActionLog> logs) {
+        synchronized (spillLock) {
+            try {
+                if (spillFile.getParent() != null) {
+                    Files.createDirectories(spillFile.getParent());
+                }
+                try (BufferedWriter writer = Files.newBufferedWriter(spillFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (ActionLog log : logs) {
+                        writer.write(objectMapper.writeValueAsString(log));
+                        writer.newLine();
+                    }
+                }
+            } catch (IOException e) {
+                logger.error("Failed to spill {} action logs", logs.size(), e);
+            }
+        }
+    }
+
+    // re-inserts whatever a previous run spilled to disk; each spill is claimed under a name of its own, so a
+    // replay file left by a failed run is retried here rather than overwritten by the next claim
+    private void replaySpill() {
+        String replayPrefix = spillFile.getFileName() + ".replay";
+        try {
+            synchronized (spillLock) {
+                if (Files.exists(spillFile)) {
+                    Files.move(spillFile, spillFile.resolveSibling(replayPrefix + "-" + System.currentTimeMillis()));
+                }
+            }
+
+            Path directory = spillFile.toAbsolutePath().getParent();
+            if (directory == null || !Files.isDirectory(directory)) {
+                return;
+            }
+            List<Path> replayFiles;
+            try (Stream<Path> files = Files.list(directory)) {
+                replayFiles = files.filter(file -> file.getFileName().toString().startsWith(replayPrefix))
+                        .sorted()
+                        .toList();
+            }
+            for (Path replayFile : replayFiles) {
+                replay(replayFile);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to claim spilled action logs from {}", spillFile, e);
+        }
+    }
+
+    // failed inserts are spilled again by write(), so the file can go once every batch was handed over
+    private void replay(Path replayFile) {
+        try {
+            List<ActionLog> logs = new ArrayList<>();
+            for (String line : Files.readAllLines(replayFile)) {
+                if (!line.isBlank()) {
+                    logs.add(objectMapper.readValue(line, ActionLog.class));
+                }
+            }
+            for (int from = 0; from < logs.size(); from += batchSize) {
+                write(logs.subList(from, Math.min(from + batchSize, logs.size())));
+            }
+            Files.delete(replayFile);
+            logger.info("Replayed {} spilled action logs from {}", logs.size(), replayFile);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to replay spilled action logs from {}", replayFile, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        drain();
+    }
+}
@@ -4,12 +4,15 @@ import com.fosso.backend.fosso_backend.brand.model.Brand;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BrandService {
     List<Brand> listAll();
     Page<Brand> listByPage(String keyword, Pageable pageable);
     Brand getByBrandId(String brandId);
+    Map<String, Brand> getByBrandIds(Collection<String> brandIds);
     Brand getByName(String name);
     List<Brand> listByCategoryId(String categoryId);
     Brand saveBrand(Brand brand);
@@ -0,0 +1,83 @@
+package com.fosso.backend.fosso_backend.brand.service.impl;
+
+import com.fosso.backend.fosso_backend.brand.model.Brand;
+import com.fosso.backend.fosso_backend.brand.repository.BrandRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// read-mostly brand lookups for hot paths; entries are shared, callers must not modify them.
+// Local saves and deletes evict immediately, writes from other instances show up after the TTL.
+@Component
+@RequiredArgsConstructor
+public class BrandCache extends AbstractMongoEventListener<Brand> {
+
+    private final BrandRepository brandRepository;
+    private final Map<String, CachedBrand> brands = new ConcurrentHashMap<>();
+
+    @Value("${app.brands.cache-ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${app.brands.cache-max-entries:1000}")
+    private int maxEntries;
+
+    private record CachedBrand(Brand brand, long expiresAt) {
+    }
+
+    // unknown ids are simply absent from the result
+    public Map<String, Brand> getAll(Collection<String> brandIds) {
+        long now = System.currentTimeMillis();
+        Map<String, Brand> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String brandId : new LinkedHashSet<>(brandIds)) {
+            CachedBrand cached = brands.get(brandId);
+            if (cached != null && cached.expiresAt() > now) {
+                found.put(brandId, cached.brand());
+            } else if (brandId != null) {
+                missing.add(brandId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<Brand> loaded = brandRepository.findAllById(missing);
+            if (brands.size() + loaded.size() > maxEntries) {
+                brands.values().removeIf(entry -> entry.expiresAt() <= now);
+                if (brands.size() + loaded.size() > maxEntries) {
+                    brands.clear();
+                }
+            }
+            for (Brand brand : loaded) {
+                brands.put(brand.getBrandId(), new CachedBrand(brand, now + ttlMs));
+                found.put(brand.getBrandId(), brand);
+            }
+        }
+        return found;
+    }
+
+    public void invalidate(String brandId) {
+        brands.remove(brandId);
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Brand> event) {
+        invalidate(event.getSource().getBrandId());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Brand> event) {
+        if (event.getSource().get("_id") instanceof String brandId) {
+            invalidate(brandId);
+        }
+    }
+}
@@ -13,7 +13,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -21,6 +23,7 @@ import java.util.UUID;
 public class BrandServiceImpl implements BrandService {
 
     private final BrandRepository brandRepository;
+    private final BrandCache brandCache;
 
     @Override
     public List<Brand> listAll() {
@@ -41,6 +44,11 @@ public class BrandServiceImpl implements BrandService {
                 .orElseThrow(() -> new ResourceNotFoundException("Brand not found with ID: " + id));
     }
 
+    @Override
+    public Map<String, Brand> getByBrandIds(Collection<String> brandIds) {
+        return brandCache.getAll(brandIds);
+    }
+
     @Override
     public Brand getByName(String name) {
         return brandRepository.findByName(name)
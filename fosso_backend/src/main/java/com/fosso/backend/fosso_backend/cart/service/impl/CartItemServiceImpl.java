@@ -11,21 +11,25 @@ import com.fosso.backend.fosso_backend.cart.model.CartItem;
 import com.fosso.backend.fosso_backend.common.exception.UnauthorizedException;
 import com.fosso.backend.fosso_backend.image.model.Image;
 import com.fosso.backend.fosso_backend.image.service.ImageService;
+import com.fosso.backend.fosso_backend.product.dto.StockAdjustment;
 import com.fosso.backend.fosso_backend.product.model.Product;
 import com.fosso.backend.fosso_backend.product.model.ProductVariant;
 import com.fosso.backend.fosso_backend.product.service.ProductService;
-import com.fosso.backend.fosso_backend.user.model.User;
 import com.fosso.backend.fosso_backend.cart.repository.CartItemRepository;
 import com.fosso.backend.fosso_backend.security.AuthenticatedUserProvider;
 import com.fosso.backend.fosso_backend.cart.service.CartItemService;
+import com.fosso.backend.fosso_backend.reservation.service.ReservationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -35,72 +39,72 @@ public class CartItemServiceImpl implements CartItemService {
     private final ProductService productService;
     private final AuthenticatedUserProvider userProvider;
     private final BrandService brandService;
+    private final ReservationService reservationService;
 
     @Override
     public List<CartItemDTO> listCartItems(String customerId) {
-        User currentUser = userProvider.getAuthenticatedUser();
-        if (!currentUser.getUserId().equals(customerId)) {
+        if (!userProvider.getAuthenticatedUserId().equals(customerId)) {
             throw new UnauthorizedException("You are not authorized to view this cart");
         }
         List<CartItem> cartItems = cartItemRepository.findByCustomerId(customerId);
         if (cartItems == null || cartItems.isEmpty()) {
             throw new ResourceNotFoundException("No cart item found with id " + customerId);
         }
-        return cartItems.stream().map(cartItem -> {
-            Product product = productService.getProductById(cartItem.getProductId());
-
-            Brand brand = brandService.getByBrandId(product.getBrandId());
-
-            return CartItemMapper.convertToDTO(cartItem, product, brand);
-        }).toList();
+        // one projected $in for the products, brands mostly from the shared cache
+        Map<String, Product> productsById = productService.getCartViewsByIds(
+                        cartItems.stream().map(CartItem::getProductId).distinct().toList()).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        Map<String, Brand> brandsById = brandService.getByBrandIds(
+                productsById.values().stream().map(Product::getBrandId).toList());
+
+        return cartItems.stream()
+                .map(cartItem -> toDTO(cartItem, productsById.get(cartItem.getProductId()), brandsById))
+                .toList();
     }
 
     @Override
     @Loggable(action = "CREATE", entity = "CartItem", message = "Added product to cart")
     public CartItem addProduct(CartItemCreateDTO cartItemCreate) {
-        User customer = userProvider.getAuthenticatedUser();
+        String customerId = userProvider.getAuthenticatedUserId();
 
         Product product = productService.getProductById(cartItemCreate.getProductId());
 
-        Optional<ProductVariant> matchingVariant = product.getProductVariants()
-                .stream()
-                .filter(variant ->
-                        variant.getColor().equalsIgnoreCase(cartItemCreate.getColor()) &&
-                                variant.getSize().equalsIgnoreCase(cartItemCreate.getSize()))
-                .findFirst();
-
-        if (matchingVariant.isEmpty()) {
-            throw new IllegalArgumentException("No product variant found with specified color and size.");
-        }
+        ProductVariant matchingVariant = product.findVariant(cartItemCreate.getColor(), cartItemCreate.getSize())
+                .orElseThrow(() -> new IllegalArgumentException("No product variant found with specified color and size."));
 
         Optional<CartItem> existingItem = cartItemRepository.findByCustomerIdAndProductIdAndColorAndSize(
-                customer.getUserId(),
+                customerId,
                 product.getProductId(),
-                cartItemCreate.getColor(),
-                cartItemCreate.getSize()
+                matchingVariant.getColor(),
+                matchingVariant.getSize()
         );
 
+        StockAdjustment hold = new StockAdjustment(product.getProductId(),
+                matchingVariant.getColor(), matchingVariant.getSize(), cartItemCreate.getQuantity());
+        reservationService.hold(customerId, hold);
+
         CartItem savedItem;
 
-        if (existingItem.isPresent()) {
-            CartItem item = existingItem.get();
-            int quantity = item.getQuantity() + cartItemCreate.getQuantity();
-            if (quantity > matchingVariant.get().getStockQuantity()) {
-                throw new IllegalArgumentException("Not enough stock available for this product.");
+        try {
+            if (existingItem.isPresent()) {
+                CartItem item = existingItem.get();
+                item.setQuantity(item.getQuantity() + cartItemCreate.getQuantity());
+
+                savedItem = cartItemRepository.save(item);
+            } else {
+                CartItem newItem = new CartItem();
+                newItem.setCartId(UUID.randomUUID().toString());
+                newItem.setCustomerId(customerId);
+                newItem.setProductId(product.getProductId());
+                newItem.setColor(matchingVariant.getColor());
+                newItem.setSize(matchingVariant.getSize());
+                newItem.setQuantity(cartItemCreate.getQuantity());
+                newItem.setAddedDateTime(LocalDateTime.now());
+                savedItem = cartItemRepository.save(newItem);
             }
-            item.setQuantity(item.getQuantity() + cartItemCreate.getQuantity());
-
-            savedItem = cartItemRepository.save(item);
-        } else {
-            CartItem newItem = new CartItem();
-            newItem.setCartId(UUID.randomUUID().toString());
-            newItem.setCustomerId(customer.getUserId());
-            newItem.setProductId(product.getProductId());
-            newItem.setColor(cartItemCreate.getColor());
-            newItem.setSize(cartItemCreate.getSize());
-            newItem.setQuantity(cartItemCreate.getQuantity());
-            newItem.setAddedDateTime(LocalDateTime.now());
-            savedItem = cartItemRepository.save(newItem);
+        } catch (RuntimeException e) {
+            reservationService.release(customerId, hold);
+            throw e;
         }
         return savedItem;
 
@@ -111,15 +115,23 @@ public class CartItemServiceImpl implements CartItemService {
     public CartItemDTO updateQuantity(String cartId, int quantity) {
         CartItem item = cartItemRepository.findById(cartId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found in cart"));
-        Product product = productService.getProductById(item.getProductId());
+        Product product = productService.getCartViewsByIds(List.of(item.getProductId())).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + item.getProductId()));
+
+        int delta = quantity - item.getQuantity();
+        if (delta > 0) {
+            reservationService.hold(item.getCustomerId(), toAdjustment(item, delta));
+        } else if (delta < 0) {
+            reservationService.release(item.getCustomerId(), toAdjustment(item, -delta));
+        }
 
         item.setQuantity(quantity);
 
-        Brand brand = brandService.getByBrandId(product.getBrandId());
-
         CartItem updatedItem = cartItemRepository.save(item);
 
-        return CartItemMapper.convertToDTO(updatedItem, product, brand);    }
+        return toDTO(updatedItem, product, brandService.getByBrandIds(List.of(product.getBrandId())));
+    }
 
     @Override
     @Loggable(action = "DELETE", entity = "CartItem", message = "Removed product from cart")
@@ -128,13 +140,15 @@ public class CartItemServiceImpl implements CartItemService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found in cart"));
 
         cartItemRepository.delete(item);
+        reservationService.release(item.getCustomerId(), toAdjustment(item, item.getQuantity()));
     }
 
     @Override
     @Loggable(action = "DELETE", entity = "CartItem", message = "Cleared all items from cart")
     public void clearCart() {
-        User customer = userProvider.getAuthenticatedUser();
-        cartItemRepository.deleteByCustomerId(customer.getUserId());
+        String customerId = userProvider.getAuthenticatedUserId();
+        cartItemRepository.deleteByCustomerId(customerId);
+        reservationService.releaseAll(customerId);
     }
 
     @Override
@@ -146,4 +160,19 @@ public class CartItemServiceImpl implements CartItemService {
     public void deleteByCustomerId(String userId) {
         cartItemRepository.deleteByCustomerId(userId);
     }
-}
\ No newline at end of file
+
+    private CartItemDTO toDTO(CartItem cartItem, Product product, Map<String, Brand> brandsById) {
+        if (product == null) {
+            throw new ResourceNotFoundException("Product not found with ID: " + cartItem.getProductId());
+        }
+        Brand brand = brandsById.get(product.getBrandId());
+        if (brand == null) {
+            throw new ResourceNotFoundException("Brand not found with ID: " + product.getBrandId());
+        }
+        return CartItemMapper.convertToDTO(cartItem, product, brand);
+    }
+
+    private StockAdjustment toAdjustment(CartItem item, int quantity) {
+        return new StockAdjustment(item.getProductId(), item.getColor(), item.getSize(), quantity);
+    }
+}
@@ -81,12 +81,7 @@ public class CategoryController {
 
     @GetMapping("/hierarchical")
     public ResponseEntity<List<CategoryDTO>> listHierarchicalCategories() {
-        List<Category> rootCategories = categoryService.getRootCategories();
-        List<CategoryDTO> categoryDTOs = rootCategories.stream()
-                .map(hierarchyManager::buildHierarchy)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(categoryDTOs);
+        return ResponseEntity.ok(hierarchyManager.buildTree());
     }
     @GetMapping("/above/{parentId}")
     public ResponseEntity<List<CategoryDTO>> getAboveCategories(@PathVariable String parentId) {
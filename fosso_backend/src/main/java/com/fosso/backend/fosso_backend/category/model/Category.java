@@ -7,7 +7,9 @@ import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Data
@@ -23,10 +25,17 @@ public class Category implements LoggableEntity {
     private String parentName;
     private Set<String> children = new HashSet<>();
     private int level;
-    private String allParentIDs;
+    @Indexed
+    private List<String> allParentIDs = new ArrayList<>();
     private LocalDateTime createdTime;
     private LocalDateTime updatedTime;
 
+    public List<String> pathIncludingSelf() {
+        List<String> path = new ArrayList<>(allParentIDs);
+        path.add(categoryId);
+        return path;
+    }
+
     @Override
     public String getEntityId() {
         return categoryId;
@@ -22,6 +22,8 @@ public interface CategoryRepository extends MongoRepository<Category, String> {
 
     List<Category> findByParentId(String parentId);
 
+    List<Category> findByAllParentIDs(String ancestorId);
+
     @Query("{'name': {$regex: ?0, $options: 'i'}}")
     Page<Category> findByKeyword(String keyword, Pageable pageable);
 
@@ -10,6 +10,8 @@ import java.util.Optional;
 public interface CategoryService {
     List<Category> listAll();
     List<Category> listByParentId(String parentId);
+    List<String> getCategoryPath(String categoryId);
+    List<String> getDisabledDescendantIds(String categoryId);
     Page<Category> listByPage(String keyword, Pageable pageable);
     Optional<Category> getCategoryById(String categoryId);
     Category saveCategory(Category category);
@@ -4,6 +4,7 @@ import com.fosso.backend.fosso_backend.category.model.Category;
 import com.fosso.backend.fosso_backend.category.repository.CategoryRepository;
 import com.fosso.backend.fosso_backend.category.service.CategoryValidator;
 import com.fosso.backend.fosso_backend.category.service.admin.AdminCategoryService;
+import com.fosso.backend.fosso_backend.category.service.impl.CategoryTreeCache;
 import com.fosso.backend.fosso_backend.common.aop.Loggable;
 import com.fosso.backend.fosso_backend.common.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +24,7 @@ public class AdminCategoryServiceImpl implements AdminCategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryValidator categoryValidator;
     private final CategoryParentManager categoryParentManager;
+    private final CategoryTreeCache treeCache;
 
     @Override
     @Loggable(action = "DELETE", entity = "Category", message = "Deleted category")
@@ -38,6 +41,7 @@ public class AdminCategoryServiceImpl implements AdminCategoryService {
             categoryRepository.save(parent);
         }
         categoryRepository.delete(category);
+        treeCache.refresh();
 
         return "Category deleted successfully";
     }
@@ -48,6 +52,7 @@ public class AdminCategoryServiceImpl implements AdminCategoryService {
         Category category = categoryValidator.getExistingCategory(categoryId);
         category.setEnabled(enabled);
         categoryRepository.save(category);
+        treeCache.refresh();
 
         return "Category status updated successfully";
     }
@@ -74,10 +79,12 @@ public class AdminCategoryServiceImpl implements AdminCategoryService {
         existingCategory.setEnabled(updatedTargetCategory.isEnabled());
         existingCategory.setUpdatedTime(LocalDateTime.now());
 
-        if (!oldParentId.equals(newParentId)) {
+        if (!Objects.equals(oldParentId, newParentId)) {
             categoryParentManager.reassignParent(existingCategory, newParentId);
         }
-        return categoryRepository.save(existingCategory);
+        Category savedCategory = categoryRepository.save(existingCategory);
+        treeCache.refresh();
+        return savedCategory;
     }
 
     @Override
@@ -95,7 +102,11 @@ public class AdminCategoryServiceImpl implements AdminCategoryService {
         sourceCategory.getChildren().forEach(childId -> {
             categoryRepository.findById(childId).ifPresent(child -> {
                 child.setParentId(targetCategory.getCategoryId());
+                child.setParentName(targetCategory.getName());
+                child.setLevel(targetCategory.getLevel() + 1);
+                child.setAllParentIDs(targetCategory.pathIncludingSelf());
                 categoryRepository.save(child);
+                categoryParentManager.propagatePath(child);
             });
             targetCategory.getChildren().add(childId);
         });
@@ -109,6 +120,7 @@ public class AdminCategoryServiceImpl implements AdminCategoryService {
         }
 
         categoryRepository.delete(sourceCategory);
+        treeCache.refresh();
 
         return "Categories merged successfully";
     }
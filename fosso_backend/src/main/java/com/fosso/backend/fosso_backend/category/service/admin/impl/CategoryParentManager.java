@@ -2,33 +2,43 @@ package com.fosso.backend.fosso_backend.category.service.admin.impl;
 
 import com.fosso.backend.fosso_backend.category.model.Category;
 import com.fosso.backend.fosso_backend.category.repository.CategoryRepository;
+import com.fosso.backend.fosso_backend.category.service.impl.CategoryTreeCache;
 import com.fosso.backend.fosso_backend.common.exception.ResourceNotFoundException;
+import com.fosso.backend.fosso_backend.product.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
 @RequiredArgsConstructor
 public class CategoryParentManager {
     private final CategoryRepository categoryRepository;
+    private final CategoryTreeCache treeCache;
+    private final ProductService productService;
+
     public void reassignParent(Category category, String newParentId) {
         String oldParentId = category.getParentId();
 
         if (newParentId == null || newParentId.isEmpty()) {
             category.setLevel(0);
-            category.setAllParentIDs("");
+            category.setAllParentIDs(new ArrayList<>());
+            category.setParentName(null);
+            category.setParentId(null);
         } else {
             Category newParent = categoryRepository.findById(newParentId)
                     .orElseThrow(() -> new ResourceNotFoundException("New parent not found: " + newParentId));
 
-            String newPath = (newParent.getAllParentIDs() == null || newParent.getAllParentIDs().isEmpty())
-                    ? newParent.getCategoryId()
-                    : newParent.getAllParentIDs() + "," + newParent.getCategoryId();
             category.setLevel(newParent.getLevel() + 1);
-            category.setAllParentIDs(newPath);
+            category.setAllParentIDs(newParent.pathIncludingSelf());
             category.setParentName(newParent.getName());
 
             newParent.getChildren().add(category.getCategoryId());
             categoryRepository.save(newParent);
+            category.setParentId(newParentId);
         }
 
         if (oldParentId != null && !oldParentId.isEmpty()) {
@@ -37,5 +47,28 @@ public class CategoryParentManager {
             oldParent.getChildren().remove(category.getCategoryId());
             categoryRepository.save(oldParent);
         }
+        propagatePath(category);
+        treeCache.refresh();
+    }
+
+    // rewrites the stored paths of the category's subtree and of every product filed under it
+    public void propagatePath(Category category) {
+        List<String> newPrefix = category.pathIncludingSelf();
+        List<Category> descendants = categoryRepository.findByAllParentIDs(category.getCategoryId());
+
+        Map<String, List<String>> productPaths = new HashMap<>();
+        productPaths.put(category.getCategoryId(), newPrefix);
+
+        for (Category descendant : descendants) {
+            List<String> oldPath = descendant.getAllParentIDs();
+            List<String> newPath = new ArrayList<>(newPrefix);
+            newPath.addAll(oldPath.subList(oldPath.indexOf(category.getCategoryId()) + 1, oldPath.size()));
+
+            descendant.setAllParentIDs(newPath);
+            descendant.setLevel(newPath.size());
+            productPaths.put(descendant.getCategoryId(), descendant.pathIncludingSelf());
+        }
+        categoryRepository.saveAll(descendants);
+        productService.updateCategoryPaths(productPaths);
     }
 }
@@ -8,6 +8,7 @@ import com.fosso.backend.fosso_backend.category.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -15,26 +16,35 @@ import java.util.List;
 public class CategoryHierarchyManager {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryTreeCache treeCache;
+
+    public List<CategoryDTO> buildTree() {
+        CategoryTreeSnapshot tree = treeCache.current();
+        return tree.getRootIds().stream()
+                .map(rootId -> buildHierarchy(tree, tree.getCategory(rootId).orElseThrow()))
+                .toList();
+    }
 
     public CategoryDTO buildHierarchy(Category category) {
+        return buildHierarchy(treeCache.current(), category);
+    }
+
+    private CategoryDTO buildHierarchy(CategoryTreeSnapshot tree, Category category) {
         CategoryDTO dto = CategoryMapper.toDTO(category);
 
         if (category.getParentId() != null) {
-            categoryRepository.findByCategoryIdAndEnabledTrue(category.getParentId())
+            tree.getCategory(category.getParentId())
                     .ifPresent(parent -> dto.setParentName(parent.getName()));
         }
 
-        if (category.getChildren() == null || category.getChildren().isEmpty()) {
+        List<String> childIds = tree.getChildIds(category.getCategoryId());
+        if (childIds.isEmpty()) {
             dto.setHasChildren(false);
             return dto;
         }
 
-        List<CategoryDTO> childrenDTOs = category.getChildren()
-                .stream()
-                .map(categoryId -> categoryRepository.findByCategoryIdAndEnabledTrue(categoryId)
-                        .map(this::buildHierarchy)
-                        .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + categoryId))
-                )
+        List<CategoryDTO> childrenDTOs = childIds.stream()
+                .map(childId -> buildHierarchy(tree, tree.getCategory(childId).orElseThrow()))
                 .toList();
 
         dto.setChildren(childrenDTOs);
@@ -46,7 +56,7 @@ public class CategoryHierarchyManager {
     public void configureHierarchy(Category category) {
         if (category.getParentId() == null || category.getParentId().isEmpty()) {
             category.setLevel(0);
-            category.setAllParentIDs("");
+            category.setAllParentIDs(new ArrayList<>());
             return;
         }
 
@@ -54,10 +64,7 @@ public class CategoryHierarchyManager {
                 .orElseThrow(() -> new ResourceNotFoundException("Parent category not found: " + category.getParentId()));
 
         category.setLevel(parent.getLevel() + 1);
-        String newPath = (parent.getAllParentIDs() == null || parent.getAllParentIDs().isEmpty())
-                ? parent.getCategoryId()
-                : parent.getAllParentIDs() + "," + parent.getCategoryId();
-        category.setAllParentIDs(newPath);
+        category.setAllParentIDs(parent.pathIncludingSelf());
         category.setParentName(parent.getName());
 
         parent.getChildren().add(category.getCategoryId());
@@ -0,0 +1,74 @@
+package com.fosso.backend.fosso_backend.category.service.impl;
+
+import com.fosso.backend.fosso_backend.category.model.Category;
+import com.fosso.backend.fosso_backend.category.repository.CategoryRepository;
+import com.fosso.backend.fosso_backend.product.model.Product;
+import com.fosso.backend.fosso_backend.product.service.ProductService;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// converts comma-joined allParentIDs and fills Product.categoryPath; a move rewrites paths itself, so this only
+// finds work after an upgrade or an import that bypassed the service
+@Component
+@RequiredArgsConstructor
+public class CategoryPathMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryPathMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final CategoryRepository categoryRepository;
+    private final ProductService productService;
+    private final CategoryTreeCache treeCache;
+
+    @Value("${app.migrations.category-paths.force-rebuild:false}")
+    private boolean forceBackfill;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoCollection<Document> categories = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Category.class));
+        boolean pending = categories.countDocuments(Filters.type("allParentIDs", BsonType.STRING)) > 0
+                || mongoTemplate.exists(new Query(new Criteria().orOperator(
+                        Criteria.where("categoryPath").exists(false),
+                        Criteria.where("categoryPath").size(0))), Product.class);
+        if (!forceBackfill && !pending) {
+            return;
+        }
+
+        int converted = 0;
+        // comma-joined strings from before allParentIDs became an array
+        for (Document category : categories.find(Filters.type("allParentIDs", BsonType.STRING))) {
+            List<String> path = Arrays.stream(category.getString("allParentIDs").split(","))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .toList();
+            categories.updateOne(Filters.eq("_id", category.get("_id")), Updates.set("allParentIDs", path));
+            converted++;
+        }
+
+        Map<String, List<String>> productPaths = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getCategoryId, Category::pathIncludingSelf));
+        productService.updateCategoryPaths(productPaths);
+        treeCache.refresh();
+
+        logger.info("Converted {} category paths, backfilled product paths for {} categories",
+                converted, productPaths.size());
+    }
+}
@@ -21,6 +21,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryValidator categoryValidator;
     private final CategoryHierarchyManager hierarchyManager;
+    private final CategoryTreeCache treeCache;
 
     @Override
     public List<Category> listAll() {
@@ -34,6 +35,18 @@ public class CategoryServiceImpl implements CategoryService {
         return categoryRepository.findByParentIdAndEnabledTrue(parentId);
     }
 
+    @Override
+    public List<String> getCategoryPath(String categoryId) {
+        return categoryRepository.findById(categoryId)
+                .map(Category::pathIncludingSelf)
+                .orElseGet(() -> List.of(categoryId));
+    }
+
+    @Override
+    public List<String> getDisabledDescendantIds(String categoryId) {
+        return treeCache.current().getDisabledDescendantIds(categoryId);
+    }
+
     @Override
     public Page<Category> listByPage(String keyword, Pageable pageable) {
         if (keyword != null && !keyword.isEmpty()) {
@@ -59,7 +72,9 @@ public class CategoryServiceImpl implements CategoryService {
 
         hierarchyManager.configureHierarchy(category);
 
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        treeCache.refresh();
+        return savedCategory;
     }
 
     @Override
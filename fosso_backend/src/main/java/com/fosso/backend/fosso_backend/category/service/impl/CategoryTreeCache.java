@@ -0,0 +1,38 @@
+package com.fosso.backend.fosso_backend.category.service.impl;
+
+import com.fosso.backend.fosso_backend.category.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+    private final AtomicReference<CategoryTreeSnapshot> snapshot = new AtomicReference<>();
+
+    public CategoryTreeSnapshot current() {
+        CategoryTreeSnapshot current = snapshot.get();
+        return current != null ? current : refresh();
+    }
+
+    // also picks up writes made by other instances
+    @Scheduled(fixedDelayString = "${app.categories.tree-refresh-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    public synchronized CategoryTreeSnapshot refresh() {
+        CategoryTreeSnapshot previous = snapshot.get();
+        long version = previous == null ? 1 : previous.getVersion() + 1;
+        CategoryTreeSnapshot rebuilt = CategoryTreeSnapshot.build(version,
+                categoryRepository.findByEnabledTrue(Sort.by(Sort.Direction.ASC, "name")),
+                categoryRepository.findByEnabledFalse(Sort.by(Sort.Direction.ASC, "name")));
+        snapshot.set(rebuilt);
+        return rebuilt;
+    }
+}
@@ -0,0 +1,121 @@
+package com.fosso.backend.fosso_backend.category.service.impl;
+
+import com.fosso.backend.fosso_backend.category.model.Category;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public final class CategoryTreeSnapshot {
+
+    private final long version;
+    private final Map<String, Category> categoriesById;
+    private final Map<String, List<String>> childrenByParent;
+    private final Map<String, Set<String>> descendantsById;
+    private final Map<String, List<String>> disabledBelowById;
+    private final List<String> rootIds;
+
+    private CategoryTreeSnapshot(long version,
+                                 Map<String, Category> categoriesById,
+                                 Map<String, List<String>> childrenByParent,
+                                 Map<String, Set<String>> descendantsById,
+                                 Map<String, List<String>> disabledBelowById,
+                                 List<String> rootIds) {
+        this.version = version;
+        this.categoriesById = categoriesById;
+        this.childrenByParent = childrenByParent;
+        this.descendantsById = descendantsById;
+        this.disabledBelowById = disabledBelowById;
+        this.rootIds = rootIds;
+    }
+
+    // the tree holds enabled categories only, matching what the public category endpoints expose;
+    // disabled ones are kept only as the topmost disabled category under each ancestor
+    public static CategoryTreeSnapshot build(long version, List<Category> categories, List<Category> disabledCategories) {
+        Map<String, Category> byId = new HashMap<>();
+        for (Category category : categories) {
+            byId.put(category.getCategoryId(), category);
+        }
+
+        Map<String, List<String>> children = new HashMap<>();
+        List<String> roots = new ArrayList<>();
+        categories.stream()
+                .sorted(Comparator.comparing(Category::getName, Comparator.nullsLast(String::compareTo)))
+                .forEach(category -> {
+                    String parentId = category.getParentId();
+                    if (parentId == null || parentId.isEmpty()) {
+                        roots.add(category.getCategoryId());
+                    } else {
+                        children.computeIfAbsent(parentId, id -> new ArrayList<>()).add(category.getCategoryId());
+                    }
+                });
+
+        Map<String, Set<String>> descendants = new HashMap<>();
+        for (String categoryId : byId.keySet()) {
+            Set<String> collected = new HashSet<>();
+            Deque<String> pending = new ArrayDeque<>(children.getOrDefault(categoryId, List.of()));
+            while (!pending.isEmpty()) {
+                String childId = pending.pop();
+                if (collected.add(childId)) {
+                    pending.addAll(children.getOrDefault(childId, List.of()));
+                }
+            }
+            descendants.put(categoryId, Set.copyOf(collected));
+        }
+
+        Set<String> disabledIds = new HashSet<>();
+        disabledCategories.forEach(category -> disabledIds.add(category.getCategoryId()));
+        Map<String, List<String>> disabledBelow = new HashMap<>();
+        for (Category disabled : disabledCategories) {
+            List<String> ancestors = disabled.getAllParentIDs();
+            // nearest ancestor first, stopping at a disabled one, which already hides this whole branch
+            for (int i = ancestors.size() - 1; i >= 0; i--) {
+                String ancestorId = ancestors.get(i);
+                disabledBelow.computeIfAbsent(ancestorId, id -> new ArrayList<>()).add(disabled.getCategoryId());
+                if (disabledIds.contains(ancestorId)) {
+                    break;
+                }
+            }
+        }
+        Map<String, List<String>> immutableDisabledBelow = new HashMap<>();
+        disabledBelow.forEach((ancestorId, ids) -> immutableDisabledBelow.put(ancestorId, List.copyOf(ids)));
+
+        Map<String, List<String>> immutableChildren = new HashMap<>();
+        children.forEach((parentId, childIds) -> immutableChildren.put(parentId, List.copyOf(childIds)));
+
+        return new CategoryTreeSnapshot(version, Map.copyOf(byId), Map.copyOf(immutableChildren),
+                Map.copyOf(descendants), Map.copyOf(immutableDisabledBelow), List.copyOf(roots));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Optional<Category> getCategory(String categoryId) {
+        return Optional.ofNullable(categoriesById.get(categoryId));
+    }
+
+    public List<String> getChildIds(String categoryId) {
+        return childrenByParent.getOrDefault(categoryId, List.of());
+    }
+
+    public Set<String> getDescendantIds(String categoryId) {
+        return descendantsById.getOrDefault(categoryId, Set.of());
+    }
+
+    // the highest disabled categories in the subtree; products filed anywhere under them carry them in categoryPath
+    public List<String> getDisabledDescendantIds(String categoryId) {
+        return disabledBelowById.getOrDefault(categoryId, List.of());
+    }
+
+    public List<String> getRootIds() {
+        return rootIds;
+    }
+}
@@ -3,7 +3,6 @@ package com.fosso.backend.fosso_backend.common.aop;
 import com.fosso.backend.fosso_backend.action.service.ActionLogService;
 import com.fosso.backend.fosso_backend.common.interfaces.LoggableEntity;
 import com.fosso.backend.fosso_backend.security.AuthenticatedUserProvider;
-import com.fosso.backend.fosso_backend.user.model.User;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -22,7 +21,7 @@ public class ActionLoggerAspect {
 
     @Around("@annotation(loggable)")
     public Object loggerAction(ProceedingJoinPoint joinPoint, Loggable loggable) throws Throwable {
-        User currentUser = userProvider.getAuthenticatedUser();
+        String currentUserId = userProvider.getAuthenticatedUserId();
         String entityId = "";
         try {
             Object result = joinPoint.proceed();
@@ -39,8 +38,8 @@ public class ActionLoggerAspect {
                 entityId = ((LoggableEntity) result).getEntityId();
             }
 
-            logService.logAction(
-                    currentUser.getUserId(),
+            logService.enqueueAction(
+                    currentUserId,
                     loggable.action(),
                     loggable.entity(),
                     entityId,
@@ -49,8 +48,8 @@ public class ActionLoggerAspect {
 
             return result;
         } catch (Throwable ex) {
-            logService.logAction(
-                    currentUser.getUserId(),
+            logService.enqueueAction(
+                    currentUserId,
                     "FAILED_" + loggable.action(),
                     loggable.entity(),
                     entityId,
@@ -0,0 +1,46 @@
+package com.fosso.backend.fosso_backend.common.utils;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public class BackfillUtils {
+
+    private static final int BATCH_SIZE = 500;
+
+    // streams documents whose array field is missing or empty (every document when rebuildAll), reading only
+    // sourceFields, and $sets the recomputed value in unordered batches; returns the number of documents written
+    public static <T> long fillMissing(MongoTemplate mongoTemplate, Class<T> type, String field, boolean rebuildAll,
+                                       Function<T, String> id, Function<T, Object> value, String... sourceFields) {
+        Query query = rebuildAll ? new Query() : new Query(new Criteria().orOperator(
+                Criteria.where(field).exists(false),
+                Criteria.where(field).size(0)));
+        query.fields().include(sourceFields);
+
+        long updated = 0;
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        int pending = 0;
+        try (Stream<T> documents = mongoTemplate.stream(query, type)) {
+            for (T document : (Iterable<T>) documents::iterator) {
+                bulkOps.updateOne(new Query(Criteria.where("_id").is(id.apply(document))),
+                        new Update().set(field, value.apply(document)));
+                if (++pending == BATCH_SIZE) {
+                    bulkOps.execute();
+                    updated += pending;
+                    pending = 0;
+                    bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+                }
+            }
+        }
+        if (pending > 0) {
+            bulkOps.execute();
+            updated += pending;
+        }
+        return updated;
+    }
+}
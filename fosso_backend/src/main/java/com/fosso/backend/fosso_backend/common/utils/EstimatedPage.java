@@ -0,0 +1,19 @@
+package com.fosso.backend.fosso_backend.common.utils;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+@Getter
+public class EstimatedPage<T> extends PageImpl<T> {
+
+    // false when the total is an estimate or was capped
+    private final boolean totalExact;
+
+    public EstimatedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+}
@@ -25,6 +25,15 @@ public class PaginationUtil {
         response.put("currentPage", page.getNumber());
         response.put("totalItems", page.getTotalElements());
         response.put("totalPages", page.getTotalPages());
+        response.put("totalExact", !(page instanceof EstimatedPage<?> estimated) || estimated.isTotalExact());
+        return response;
+    }
+
+    public static Map<String, Object> buildCursorResponse(List<?> content, String nextCursor) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("products", content);
+        response.put("nextCursor", nextCursor);
+        response.put("hasNext", nextCursor != null);
         return response;
     }
 }
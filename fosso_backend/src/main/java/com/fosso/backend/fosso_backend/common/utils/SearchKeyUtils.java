@@ -0,0 +1,58 @@
+package com.fosso.backend.fosso_backend.common.utils;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class SearchKeyUtils {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // lower-cased, accents stripped, runs of punctuation and spaces collapsed to one space
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public static List<String> tokens(String value) {
+        String normalized = normalize(value);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(normalized.split(" "));
+    }
+
+    // the normalized value with separators removed, e.g. "SW1A 1AA" -> "sw1a1aa"
+    public static String compact(String value) {
+        return normalize(value).replace(" ", "");
+    }
+
+    // for anchored regex prefixes, keeps the pattern a plain literal so the index bounds stay tight
+    public static String escapeRegex(String value) {
+        return value.replaceAll("[\\\\^$.|?*+()\\[\\]{}]", "\\\\$0");
+    }
+
+    public static void addPrefixes(Collection<String> target, String token, int minLength) {
+        for (int length = Math.min(minLength, token.length()); length <= token.length(); length++) {
+            target.add(token.substring(0, length));
+        }
+    }
+
+    public static Set<String> prefixesOfTokens(String value, int minLength) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (String token : tokens(value)) {
+            addPrefixes(prefixes, token, minLength);
+        }
+        return prefixes;
+    }
+}
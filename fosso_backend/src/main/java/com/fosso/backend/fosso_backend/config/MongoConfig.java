@@ -1,6 +1,8 @@
 package com.fosso.backend.fosso_backend.config;
 
+import com.fosso.backend.fosso_backend.diagnostics.service.impl.QuerySampler;
 import org.bson.types.Decimal128;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -21,6 +23,11 @@ public class MongoConfig {
         return new MongoCustomConversions(converters);
     }
 
+    @Bean
+    public MongoClientSettingsBuilderCustomizer querySamplerCustomizer(QuerySampler querySampler) {
+        return builder -> builder.addCommandListener(querySampler);
+    }
+
     static class BigDecimalToDecimal128Converter implements Converter<BigDecimal, Decimal128> {
         @Override
         public Decimal128 convert(BigDecimal source) {
@@ -99,6 +99,7 @@ public class SecurityConfig {
                                         "/images",
                                         "/images/user",
                                         "/images/user/**",
+                                        "/images/*/raw",
                                         "/brands",
                                         "/brands/**",
                                         "/products",
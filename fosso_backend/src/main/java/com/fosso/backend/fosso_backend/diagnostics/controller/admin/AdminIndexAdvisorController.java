@@ -0,0 +1,28 @@
+package com.fosso.backend.fosso_backend.diagnostics.controller.admin;
+
+import com.fosso.backend.fosso_backend.diagnostics.dto.IndexAdviceDTO;
+import com.fosso.backend.fosso_backend.diagnostics.service.IndexAdvisorService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/index-advisor")
+@RequiredArgsConstructor
+public class AdminIndexAdvisorController {
+
+    private final IndexAdvisorService indexAdvisorService;
+
+    @GetMapping
+    public ResponseEntity<List<IndexAdviceDTO>> getAdvice(@RequestParam(defaultValue = "true") boolean issuesOnly) {
+        return ResponseEntity.ok(indexAdvisorService.analyze(issuesOnly));
+    }
+
+    @DeleteMapping("/samples")
+    public ResponseEntity<String> clearSamples() {
+        indexAdvisorService.clearSamples();
+        return ResponseEntity.ok("Query samples cleared");
+    }
+}
@@ -0,0 +1,25 @@
+package com.fosso.backend.fosso_backend.diagnostics.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class IndexAdviceDTO {
+    private String collection;
+    private String command;
+    private String shape;
+    private long sampleCount;
+    private LocalDateTime lastSeen;
+    private List<String> planStages;
+    private List<String> indexesUsed;
+    private Long keysExamined;
+    private Long docsExamined;
+    private Long returned;
+    private List<String> issues;
+    private String suggestedIndex;
+    private String error;
+}
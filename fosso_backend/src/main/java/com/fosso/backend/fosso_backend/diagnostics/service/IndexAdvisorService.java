@@ -0,0 +1,13 @@
+package com.fosso.backend.fosso_backend.diagnostics.service;
+
+import com.fosso.backend.fosso_backend.diagnostics.dto.IndexAdviceDTO;
+
+import java.util.List;
+
+public interface IndexAdvisorService {
+
+    // explains every sampled query shape, worst offenders first
+    List<IndexAdviceDTO> analyze(boolean issuesOnly);
+
+    void clearSamples();
+}
@@ -0,0 +1,225 @@
+package com.fosso.backend.fosso_backend.diagnostics.service.impl;
+
+import com.fosso.backend.fosso_backend.diagnostics.dto.IndexAdviceDTO;
+import com.fosso.backend.fosso_backend.diagnostics.service.IndexAdvisorService;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class IndexAdvisorServiceImpl implements IndexAdvisorService {
+
+    private static final Set<String> RANGE_OPERATORS = Set.of("$gt", "$gte", "$lt", "$lte", "$ne", "$nin", "$regex", "$exists");
+
+    private final QuerySampler querySampler;
+    private final MongoClient mongoClient;
+
+    // executionStats runs the sampled query to completion, queryPlanner only plans it
+    @Value("${app.index-advisor.explain-verbosity:executionStats}")
+    private String verbosity;
+
+    @Value("${app.index-advisor.examined-ratio:10}")
+    private long examinedRatio;
+
+    @Override
+    public List<IndexAdviceDTO> analyze(boolean issuesOnly) {
+        List<IndexAdviceDTO> advice = new ArrayList<>();
+        for (QuerySampler.QuerySample sample : querySampler.samples()) {
+            IndexAdviceDTO dto = explain(sample);
+            if (!issuesOnly || !dto.getIssues().isEmpty() || dto.getError() != null) {
+                advice.add(dto);
+            }
+        }
+        advice.sort(Comparator.comparing((IndexAdviceDTO dto) -> dto.getIssues().isEmpty())
+                .thenComparing(IndexAdviceDTO::getSampleCount, Comparator.reverseOrder()));
+        return advice;
+    }
+
+    @Override
+    public void clearSamples() {
+        querySampler.clear();
+    }
+
+    private IndexAdviceDTO explain(QuerySampler.QuerySample sample) {
+        IndexAdviceDTO.IndexAdviceDTOBuilder builder = IndexAdviceDTO.builder()
+                .collection(sample.getCollection())
+                .command(sample.getCommandName())
+                .shape(sample.getShape())
+                .sampleCount(sample.getCount())
+                .lastSeen(sample.getLastSeen())
+                .issues(new ArrayList<>());
+
+        Document explained;
+        try {
+            explained = mongoClient.getDatabase(sample.getDatabaseName()).runCommand(
+                    new BsonDocument("explain", sample.getCommand()).append("verbosity", new BsonString(verbosity)));
+        } catch (MongoException e) {
+            return builder.error(e.getMessage()).build();
+        }
+
+        Set<String> stages = new LinkedHashSet<>();
+        Set<String> indexes = new LinkedHashSet<>();
+        long[] stats = new long[3];
+        walk(explained, false, stages, indexes, stats);
+
+        List<String> issues = new ArrayList<>();
+        if (stages.contains("COLLSCAN")) {
+            issues.add("COLLSCAN: no index serves this filter");
+        }
+        if (stages.contains("SORT") || stages.contains("$sort")) {
+            issues.add("IN_MEMORY_SORT: the sort is not provided by the chosen index");
+        }
+        boolean hasStats = "executionStats".equals(verbosity) || "allPlansExecution".equals(verbosity);
+        if (hasStats && stats[1] > 100 && stats[1] > examinedRatio * Math.max(1, stats[2])) {
+            issues.add("LOW_SELECTIVITY: " + stats[1] + " documents examined for " + stats[2] + " returned"
+                    + (indexes.isEmpty() ? "" : " using " + String.join(", ", indexes)));
+        }
+
+        return builder
+                .planStages(new ArrayList<>(stages))
+                .indexesUsed(new ArrayList<>(indexes))
+                .keysExamined(hasStats ? stats[0] : null)
+                .docsExamined(hasStats ? stats[1] : null)
+                .returned(hasStats ? stats[2] : null)
+                .issues(issues)
+                .suggestedIndex(issues.isEmpty() ? null : suggestIndex(sample.getCommandName(), sample.getCommand()))
+                .build();
+    }
+
+    // collects stage names and index names of winning plans only, and sums execution stats,
+    // wherever they sit: top level for find, under $cursor for aggregations, per shard when sharded
+    private void walk(Object node, boolean inWinningPlan, Set<String> stages, Set<String> indexes, long[] stats) {
+        if (node instanceof Document document) {
+            for (Map.Entry<String, Object> entry : document.entrySet()) {
+                String key = entry.getKey();
+                if ("rejectedPlans".equals(key) || "allPlansExecution".equals(key)) {
+                    continue;
+                }
+                if (inWinningPlan && "stage".equals(key)) {
+                    stages.add(String.valueOf(entry.getValue()));
+                } else if (inWinningPlan && "indexName".equals(key)) {
+                    indexes.add(String.valueOf(entry.getValue()));
+                } else if ("executionStats".equals(key) && entry.getValue() instanceof Document execution) {
+                    stats[0] += number(execution.get("totalKeysExamined"));
+                    stats[1] += number(execution.get("totalDocsExamined"));
+                    stats[2] += number(execution.get("nReturned"));
+                    continue;
+                } else if ("stages".equals(key) && entry.getValue() instanceof List<?> pipelineStages) {
+                    // aggregation stages that were not pushed down into the query layer
+                    for (Object stage : pipelineStages) {
+                        if (stage instanceof Document stageDocument) {
+                            stageDocument.keySet().stream()
+                                    .filter(name -> name.startsWith("$") && !"$cursor".equals(name))
+                                    .forEach(stages::add);
+                        }
+                    }
+                }
+                walk(entry.getValue(), inWinningPlan || "winningPlan".equals(key), stages, indexes, stats);
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object element : list) {
+                walk(element, inWinningPlan, stages, indexes, stats);
+            }
+        }
+    }
+
+    private long number(Object value) {
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+
+    // equality fields, then the sort, then range fields; boolean equalities become a partial filter instead of keys
+    private String suggestIndex(String commandName, BsonDocument command) {
+        BsonDocument filter = new BsonDocument();
+        BsonDocument sort = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                filter = command.getDocument("filter", filter);
+                sort = command.getDocument("sort", sort);
+            }
+            case "count" -> filter = command.getDocument("query", filter);
+            case "aggregate" -> {
+                for (BsonValue stage : command.getArray("pipeline")) {
+                    BsonDocument stageDocument = stage.asDocument();
+                    if (stageDocument.containsKey("$match") && filter.isEmpty()) {
+                        filter = stageDocument.getDocument("$match");
+                    } else if (stageDocument.containsKey("$sort")) {
+                        sort = stageDocument.getDocument("$sort");
+                        break;
+                    } else {
+                        break;
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+
+        List<String> equality = new ArrayList<>();
+        List<String> range = new ArrayList<>();
+        Map<String, BsonValue> partial = new LinkedHashMap<>();
+        collectPredicates(filter, equality, range, partial);
+
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        equality.forEach(field -> keys.putIfAbsent(field, 1));
+        sort.forEach((field, direction) -> keys.putIfAbsent(field, direction.isNumber() ? direction.asNumber().intValue() : 1));
+        range.forEach(field -> keys.putIfAbsent(field, 1));
+        if (keys.isEmpty()) {
+            return null;
+        }
+
+        String suggestion = keys.entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + entry.getValue())
+                .collect(Collectors.joining(", ", "{ ", " }"));
+        if (!partial.isEmpty()) {
+            suggestion += " partialFilterExpression " + partial.entrySet().stream()
+                    .map(entry -> entry.getKey() + ": " + entry.getValue().asBoolean().getValue())
+                    .collect(Collectors.joining(", ", "{ ", " }"));
+        }
+        return suggestion;
+    }
+
+    private void collectPredicates(BsonDocument filter, List<String> equality, List<String> range,
+                                   Map<String, BsonValue> partial) {
+        for (Map.Entry<String, BsonValue> entry : filter.entrySet()) {
+            String field = entry.getKey();
+            BsonValue value = entry.getValue();
+            if ("$and".equals(field) && value.isArray()) {
+                value.asArray().forEach(clause -> {
+                    if (clause.isDocument()) {
+                        collectPredicates(clause.asDocument(), equality, range, partial);
+                    }
+                });
+            } else if (field.startsWith("$")) {
+                // $or, $text, $expr and friends need their own indexes, out of scope for a single suggestion
+                continue;
+            } else if (value.isBoolean()) {
+                partial.put(field, value);
+            } else if (value.isDocument() && value.asDocument().keySet().stream().anyMatch(key -> key.startsWith("$"))) {
+                Set<String> operators = value.asDocument().keySet();
+                if (operators.stream().anyMatch(RANGE_OPERATORS::contains)) {
+                    range.add(field);
+                } else {
+                    equality.add(field);
+                }
+            } else {
+                equality.add(field);
+            }
+        }
+    }
+}
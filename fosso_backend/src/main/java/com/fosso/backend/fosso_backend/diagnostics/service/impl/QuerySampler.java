@@ -0,0 +1,153 @@
+package com.fosso.backend.fosso_backend.diagnostics.service.impl;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// registered on the MongoClient by MongoConfig; runs on driver threads, so it only copies and counts
+@Component
+public class QuerySampler implements CommandListener {
+
+    // the parts of each command that affect plan selection, everything else (lsid, $db, read concern...) is dropped
+    private static final Map<String, List<String>> EXPLAINABLE_FIELDS = Map.of(
+            "find", List.of("find", "filter", "sort", "projection", "hint", "skip", "limit", "collation"),
+            "aggregate", List.of("aggregate", "pipeline", "hint", "allowDiskUse", "collation"),
+            "count", List.of("count", "query", "hint", "skip", "limit", "collation"));
+
+    private final Map<String, QuerySample> samples = new ConcurrentHashMap<>();
+
+    @Value("${app.index-advisor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.index-advisor.sample-rate:0.05}")
+    private double sampleRate;
+
+    @Value("${app.index-advisor.max-shapes:200}")
+    private int maxShapes;
+
+    @Value("${app.index-advisor.collections:products,orders,users}")
+    private Set<String> collections;
+
+    public static class QuerySample {
+        private final String databaseName;
+        private final String collection;
+        private final String commandName;
+        private final String shape;
+        private final BsonDocument command;
+        private final AtomicLong count = new AtomicLong();
+        private volatile LocalDateTime lastSeen;
+
+        QuerySample(String databaseName, String collection, String commandName, String shape, BsonDocument command) {
+            this.databaseName = databaseName;
+            this.collection = collection;
+            this.commandName = commandName;
+            this.shape = shape;
+            this.command = command;
+        }
+
+        public String getDatabaseName() {
+            return databaseName;
+        }
+
+        public String getCollection() {
+            return collection;
+        }
+
+        public String getCommandName() {
+            return commandName;
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        // the first query seen with this shape, literal values included
+        public BsonDocument getCommand() {
+            return command;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public LocalDateTime getLastSeen() {
+            return lastSeen;
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        List<String> fields = EXPLAINABLE_FIELDS.get(event.getCommandName());
+        if (!enabled || fields == null || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        BsonValue target = event.getCommand().get(event.getCommandName());
+        if (target == null || !target.isString() || !collections.contains(target.asString().getValue())) {
+            return;
+        }
+
+        // the event document is only valid during this callback
+        BsonDocument command = new BsonDocument();
+        for (String field : fields) {
+            BsonValue value = event.getCommand().get(field);
+            if (value != null) {
+                command.append(field, value.clone());
+            }
+        }
+        if ("aggregate".equals(event.getCommandName())) {
+            command.append("cursor", new BsonDocument());
+        }
+
+        String shape = shapeOf(command).toJson();
+        String key = event.getDatabaseName() + "|" + target.asString().getValue() + "|" + shape;
+        QuerySample sample = samples.get(key);
+        if (sample == null) {
+            if (samples.size() >= maxShapes) {
+                return;
+            }
+            sample = samples.computeIfAbsent(key, k -> new QuerySample(event.getDatabaseName(),
+                    target.asString().getValue(), event.getCommandName(), shape, command));
+        }
+        sample.count.incrementAndGet();
+        sample.lastSeen = LocalDateTime.now();
+    }
+
+    public Collection<QuerySample> samples() {
+        return samples.values();
+    }
+
+    public void clear() {
+        samples.clear();
+    }
+
+    // literals become 1 so queries differing only in values share a shape; operators, field names,
+    // stages and sort directions stay
+    static BsonValue shapeOf(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shaped = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> shaped.append(key,
+                    "sort".equals(key) || "$sort".equals(key) ? nested : shapeOf(nested)));
+            return shaped;
+        }
+        if (value.isArray() && !value.asArray().isEmpty() && value.asArray().stream().allMatch(BsonValue::isDocument)) {
+            BsonArray shaped = new BsonArray();
+            value.asArray().forEach(nested -> shaped.add(shapeOf(nested)));
+            return shaped;
+        }
+        return new BsonInt32(1);
+    }
+}
@@ -4,14 +4,23 @@ import com.fosso.backend.fosso_backend.image.dto.ImageDTO;
 import com.fosso.backend.fosso_backend.common.enums.ImageType;
 import com.fosso.backend.fosso_backend.image.mapper.ImageMapper;
 import com.fosso.backend.fosso_backend.image.model.Image;
+import com.fosso.backend.fosso_backend.image.model.ImageVariant;
 import com.fosso.backend.fosso_backend.image.service.ImageService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.channels.Channels;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/images")
@@ -24,7 +33,51 @@ public class ImageController {
     public ResponseEntity<ImageDTO> getImageById(@PathVariable String imageId,
                                                  @RequestParam ImageType imageType) {
         Image image = imageService.getImageById(imageId, imageType);
-        return ResponseEntity.ok().body(ImageMapper.convertToDTO(image));
+        return ResponseEntity.ok().body(ImageMapper.convertToDTO(image, imageService.readContent(image)));
+    }
+
+    @GetMapping("/{imageId}/raw")
+    public ResponseEntity<Resource> getRawImage(
+            @PathVariable String imageId,
+            @RequestParam(value = "w", required = false) Integer width,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Image metadata = imageService.getImageMetadata(imageId);
+        ImageVariant variant = width != null ? imageService.selectVariant(metadata, width).orElse(null) : null;
+
+        // a ?w= request served from the original until its variant exists must not be cached as that variant:
+        // revalidate every time, under an ETag of its own that changes once the variant is generated.
+        // Once variants are processed, a width past the largest one gets the original, which is wider than any variant
+        boolean variantPending = width != null && variant == null && !metadata.isVariantsProcessed();
+        String eTag = variant != null
+                ? "\"" + variant.getContentHash() + "\""
+                : variantPending
+                ? "\"" + metadata.getContentHash() + "-original\""
+                : "\"" + metadata.getContentHash() + "\"";
+        CacheControl cacheControl = variantPending
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        if (variant != null) {
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .contentType(resolveMediaType(variant.getContentType()))
+                    .contentLength(variant.getSize())
+                    .body(new InputStreamResource(Channels.newInputStream(imageService.openContent(variant))));
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .contentType(resolveMediaType(metadata.getContentType()))
+                .contentLength(metadata.getSize())
+                .body(new InputStreamResource(Channels.newInputStream(imageService.openContent(metadata))));
     }
 
     @GetMapping("/user/owner/{ownerId}")
@@ -32,7 +85,7 @@ public class ImageController {
             @PathVariable String ownerId,
             @RequestParam ImageType imageType) {
         Image image = imageService.getOwnerImage(ownerId, imageType);
-        return ResponseEntity.ok().body(ImageMapper.convertToDTO(image));
+        return ResponseEntity.ok().body(ImageMapper.convertToDTO(image, imageService.readContent(image)));
     }
 
     @PostMapping("/merchant/products/{productId}")
@@ -49,7 +102,8 @@ public class ImageController {
             @PathVariable String ownerId,
             @RequestParam ImageType imageType,
             @RequestParam("image") MultipartFile image) {
-        return ResponseEntity.ok(ImageMapper.convertToDTO(imageService.uploadImage(image, ownerId, imageType)));
+        Image uploaded = imageService.uploadImage(image, ownerId, imageType);
+        return ResponseEntity.ok(ImageMapper.convertToDTO(uploaded, imageService.readContent(uploaded)));
     }
 
     @DeleteMapping("/merchant/{ownerId}/{imageId}/delete")
@@ -65,6 +119,29 @@ public class ImageController {
             @PathVariable String ownerId,
             @RequestParam ImageType imageType) {
         List<Image> images = imageService.getAllImagesForOwner(ownerId, imageType);
-        return ResponseEntity.ok(images.stream().map(ImageMapper::convertToDTO).toList());
+        return ResponseEntity.ok(images.stream()
+                .map(image -> ImageMapper.convertToDTO(image, imageService.readContent(image)))
+                .toList());
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MediaType resolveMediaType(String contentType) {
+        try {
+            return contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM;
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
     }
-}
\ No newline at end of file
+}
@@ -6,14 +6,22 @@ import org.bson.types.Binary;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 @Document(collection = "images")
 public class Image implements LoggableEntity {
     @Id
     private String imageId;
-    private Binary data;
+    private Binary data; // legacy inline content, superseded by storageKey
+    private String storageKey;
     private String contentType;
+    private String contentHash;
+    private long size;
     private String filename;
+    private List<ImageVariant> variants = new ArrayList<>();
+    private boolean variantsProcessed;
     private String ownerId; // userId or productId
     private ImageType type;
 
@@ -0,0 +1,16 @@
+package com.fosso.backend.fosso_backend.image.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariant {
+    private int width;
+    private String storageKey;
+    private String contentType;
+    private String contentHash;
+    private long size;
+}
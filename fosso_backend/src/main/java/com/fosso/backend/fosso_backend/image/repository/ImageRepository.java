@@ -15,6 +15,9 @@ public interface ImageRepository extends MongoRepository<Image, String> {
 
     Optional<Image> findByImageIdAndType(String imageId, ImageType type);
 
+    @Query(value = "{'_id': ?0}", fields = "{'data': 0}")
+    Optional<Image> findMetadataById(String imageId);
+
     List<Image> findAllByOwnerId(String ownerId);
 
     @Query("{'ownerId': ?0, 'imageId': ?1, 'type': ?2}")
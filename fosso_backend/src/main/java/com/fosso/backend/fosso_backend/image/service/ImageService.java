@@ -2,9 +2,12 @@ package com.fosso.backend.fosso_backend.image.service;
 
 import com.fosso.backend.fosso_backend.common.enums.ImageType;
 import com.fosso.backend.fosso_backend.image.model.Image;
+import com.fosso.backend.fosso_backend.image.model.ImageVariant;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.channels.ReadableByteChannel;
 import java.util.List;
+import java.util.Optional;
 
 public interface ImageService {
     Image uploadImage(MultipartFile file, String ownerId, ImageType type);
@@ -13,5 +16,10 @@ public interface ImageService {
     String deleteImage(String ownerId, String imageId, ImageType type);
     Image getImageById(String imageId, ImageType type);
     Image getImageById(String imageId);
+    Image getImageMetadata(String imageId);
+    ReadableByteChannel openContent(Image image);
+    ReadableByteChannel openContent(ImageVariant variant);
+    Optional<ImageVariant> selectVariant(Image image, int width);
+    byte[] readContent(Image image);
     String uploadMainImages(String productId, MultipartFile[] mainImages, ImageType type);
 }
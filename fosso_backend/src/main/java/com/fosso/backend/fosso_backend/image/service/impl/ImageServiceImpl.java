@@ -4,21 +4,34 @@ import com.fosso.backend.fosso_backend.common.aop.Loggable;
 import com.fosso.backend.fosso_backend.common.enums.ImageType;
 import com.fosso.backend.fosso_backend.common.exception.ImageStorageException;
 import com.fosso.backend.fosso_backend.common.exception.ResourceNotFoundException;
+import com.fosso.backend.fosso_backend.common.utils.HashUtils;
 import com.fosso.backend.fosso_backend.image.model.Image;
+import com.fosso.backend.fosso_backend.image.model.ImageVariant;
 import com.fosso.backend.fosso_backend.image.repository.ImageRepository;
 import com.fosso.backend.fosso_backend.image.service.ImageService;
+import com.fosso.backend.fosso_backend.image.storage.ImageStorage;
 import com.fosso.backend.fosso_backend.image.strategy.ImageDeletionHandler;
 import com.fosso.backend.fosso_backend.image.strategy.ImageOwnerHandler;
 import com.fosso.backend.fosso_backend.image.strategy.ImageOwnerHandlerFactory;
 import com.mongodb.MongoException;
 import lombok.RequiredArgsConstructor;
-import org.bson.BsonBinarySubType;
-import org.bson.types.Binary;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -27,13 +40,15 @@ public class ImageServiceImpl implements ImageService {
 
     private final ImageRepository imageRepository;
     private final ImageOwnerHandlerFactory handlerFactory;
+    private final ImageStorage imageStorage;
+    private final ImageVariantGenerator variantGenerator;
+    private final MongoTemplate mongoTemplate;
 
     @Override
     @Loggable(action = "UPLOAD", entity = "Image", message = "Uploaded the image")
     public Image uploadImage(MultipartFile file, String ownerId, ImageType type) {
         try {
-            Image savedImage = imageRepository
-                    .save( buildImage(ownerId, type, file));
+            Image savedImage = saveImage(ownerId, type, file);
 
             ImageOwnerHandler handler = handlerFactory.getHandler(type);
             handler.handleImageAssociation(ownerId, savedImage.getImageId());
@@ -61,13 +76,24 @@ public class ImageServiceImpl implements ImageService {
     @Override
     @Loggable(action = "DELETE", entity = "Image", message = "Deleted the image")
     public String deleteImage(String ownerId, String imageId, ImageType type) {
-        if (!imageRepository.existsByOwnerIdAndImageIdAndType(ownerId, imageId, type)) {
-            throw new ResourceNotFoundException("Image not found");
-        }
+        Image image = imageRepository.findMetadataById(imageId)
+                .filter(found -> ownerId.equals(found.getOwnerId()) && type.equals(found.getType()))
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found"));
         ImageDeletionHandler deletionHandler = handlerFactory.getDeletionHandler(type);
 
         deletionHandler.handleImageDeletion(ownerId, imageId);
         imageRepository.deleteByOwnerIdAndImageIdAndType(ownerId, imageId, type);
+        try {
+            if (image.getStorageKey() != null) {
+                imageStorage.delete(image.getStorageKey());
+            }
+            // the widths recorded on the image, not the configured ones, which may have changed since
+            for (ImageVariant variant : image.getVariants()) {
+                imageStorage.delete(variant.getStorageKey());
+            }
+        } catch (IOException e) {
+            throw new ImageStorageException("Failed to delete image content", e);
+        }
 
         return "Image deleted successfully";
     }
@@ -84,12 +110,75 @@ public class ImageServiceImpl implements ImageService {
                 .orElseThrow(() -> new ResourceNotFoundException("Image not found with ID: " + imageId));
     }
 
+    @Override
+    public Image getImageMetadata(String imageId) {
+        Image metadata = imageRepository.findMetadataById(imageId)
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found with ID: " + imageId));
+        if (metadata.getContentHash() != null) {
+            return metadata;
+        }
+
+        // only the two derived fields are written, so a concurrent variant or storage update is not overwritten
+        byte[] data = readContent(getImageById(imageId));
+        metadata.setContentHash(HashUtils.sha256Hex(data));
+        metadata.setSize(data.length);
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(imageId).and("contentHash").is(null)),
+                new Update().set("contentHash", metadata.getContentHash()).set("size", metadata.getSize()),
+                Image.class);
+        return metadata;
+    }
+
+    @Override
+    public ReadableByteChannel openContent(Image image) {
+        if (image.getStorageKey() == null) {
+            Image inline = image.getData() != null ? image : getImageById(image.getImageId());
+            return Channels.newChannel(new ByteArrayInputStream(inline.getData().getData()));
+        }
+        try {
+            return imageStorage.open(image.getStorageKey());
+        } catch (IOException e) {
+            throw new ImageStorageException("Failed to read image content", e);
+        }
+    }
+
+    @Override
+    public ReadableByteChannel openContent(ImageVariant variant) {
+        try {
+            return imageStorage.open(variant.getStorageKey());
+        } catch (IOException e) {
+            throw new ImageStorageException("Failed to read image content", e);
+        }
+    }
+
+    @Override
+    public Optional<ImageVariant> selectVariant(Image image, int width) {
+        if (!image.isVariantsProcessed()) {
+            variantGenerator.submit(image);
+            return Optional.empty();
+        }
+        return image.getVariants().stream()
+                .filter(variant -> variant.getWidth() >= width)
+                .min(Comparator.comparingInt(ImageVariant::getWidth));
+    }
+
+    @Override
+    public byte[] readContent(Image image) {
+        if (image.getStorageKey() == null && image.getData() != null) {
+            return image.getData().getData();
+        }
+        try (InputStream in = Channels.newInputStream(openContent(image))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new ImageStorageException("Failed to read image content", e);
+        }
+    }
+
     @Override
     @Loggable(action = "UPLOAD", entity = "Image", message = "Uploaded main images for product")
     public String uploadMainImages(String productId, MultipartFile[] mainImages, ImageType type) {
         for (MultipartFile file : mainImages) {
             try {
-                imageRepository.save(buildImage(productId, type, file));
+                saveImage(productId, type, file);
             } catch (IOException | MongoException | IllegalArgumentException e) {
                 throw new ImageStorageException("Failed to store image", e);
             }
@@ -98,14 +187,29 @@ public class ImageServiceImpl implements ImageService {
         return "Main images uploaded successfully";
     }
 
-    private Image buildImage(String ownerId, ImageType type, MultipartFile file) throws IOException {
+    private Image saveImage(String ownerId, ImageType type, MultipartFile file) throws IOException {
         Image image = new Image();
         image.setImageId(UUID.randomUUID().toString());
         image.setContentType(file.getContentType());
         image.setFilename(file.getOriginalFilename());
-        image.setData(new Binary(BsonBinarySubType.BINARY, file.getBytes()));
         image.setOwnerId(ownerId);
         image.setType(type);
-        return image;
+
+        MessageDigest digest = HashUtils.sha256();
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            image.setSize(imageStorage.store(image.getImageId(), in, image.getContentType()));
+        }
+        image.setStorageKey(image.getImageId());
+        image.setContentHash(HashUtils.toHex(digest.digest()));
+
+        Image savedImage;
+        try {
+            savedImage = imageRepository.save(image);
+        } catch (RuntimeException e) {
+            imageStorage.delete(image.getStorageKey());
+            throw e;
+        }
+        variantGenerator.submit(savedImage);
+        return savedImage;
     }
-}
\ No newline at end of file
+}
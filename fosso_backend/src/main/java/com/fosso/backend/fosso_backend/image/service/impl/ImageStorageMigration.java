@@ -0,0 +1,69 @@
+package com.fosso.backend.fosso_backend.image.service.impl;
+
+import com.fosso.backend.fosso_backend.common.utils.HashUtils;
+import com.fosso.backend.fosso_backend.image.model.Image;
+import com.fosso.backend.fosso_backend.image.storage.ImageStorage;
+import com.mongodb.MongoException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.migrations.image-storage.enabled", havingValue = "true")
+public class ImageStorageMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageStorageMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ImageStorage imageStorage;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query pending = new Query(Criteria.where("data").exists(true).and("storageKey").exists(false));
+        pending.fields().include("_id");
+
+        int migrated = 0;
+        // one document at a time so only a single image payload is ever on the heap
+        for (Image ref : mongoTemplate.find(pending, Image.class)) {
+            Image image = mongoTemplate.findById(ref.getImageId(), Image.class);
+            if (image == null || image.getData() == null || image.getStorageKey() != null) {
+                continue;
+            }
+            try {
+                migrate(image);
+                migrated++;
+            } catch (IOException | MongoException | DataAccessException e) {
+                // one bad image must not stop the rest; it stays inline and is retried on the next run
+                logger.error("Failed to migrate image {}", image.getImageId(), e);
+            }
+        }
+        logger.info("Moved {} inline images to external storage", migrated);
+    }
+
+    private void migrate(Image image) throws IOException {
+        byte[] data = image.getData().getData();
+        // a run that stopped between store and update left a blob under this key; GridFS would reject the same id
+        imageStorage.delete(image.getImageId());
+        long size = imageStorage.store(image.getImageId(), new ByteArrayInputStream(data), image.getContentType());
+
+        Update update = new Update()
+                .set("storageKey", image.getImageId())
+                .set("contentHash", HashUtils.sha256Hex(data))
+                .set("size", size)
+                .unset("data");
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(image.getImageId())), update, Image.class);
+    }
+}
@@ -0,0 +1,192 @@
+package com.fosso.backend.fosso_backend.image.service.impl;
+
+import com.fosso.backend.fosso_backend.common.utils.HashUtils;
+import com.fosso.backend.fosso_backend.image.model.Image;
+import com.fosso.backend.fosso_backend.image.model.ImageVariant;
+import com.fosso.backend.fosso_backend.image.storage.ImageStorage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ImageVariantGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantGenerator.class);
+
+    private final ImageStorage imageStorage;
+    private final MongoTemplate mongoTemplate;
+    private final List<Integer> widths;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantGenerator(ImageStorage imageStorage,
+                                 MongoTemplate mongoTemplate,
+                                 @Value("${app.images.variant-widths:160,480,1024}") List<Integer> widths,
+                                 @Value("${app.images.variant-max-pixels:40000000}") long maxPixels,
+                                 @Value("${app.images.variant-threads:2}") int threads,
+                                 @Value("${app.images.variant-queue-size:100}") int queueSize) {
+        this.imageStorage = imageStorage;
+        this.mongoTemplate = mongoTemplate;
+        this.widths = widths.stream().sorted().toList();
+        this.maxPixels = maxPixels;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void submit(Image image) {
+        if (image.getContentType() == null || !image.getContentType().startsWith("image/")
+                || !inFlight.add(image.getImageId())) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(image);
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Failed to generate variants for image {}", image.getImageId(), e);
+                } finally {
+                    inFlight.remove(image.getImageId());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // originals are still served; variants are picked up again on a later request
+            inFlight.remove(image.getImageId());
+            logger.warn("Variant queue full, skipping image {}", image.getImageId());
+        }
+    }
+
+    public String variantKey(String imageId, int width) {
+        return imageId + "_w" + width;
+    }
+
+    private void generate(Image image) throws IOException {
+        BufferedImage source;
+        try (InputStream in = openOriginal(image)) {
+            source = decode(in, image.getImageId());
+        }
+        if (source == null) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(image.getImageId())),
+                    new Update().set("variantsProcessed", true), Image.class);
+            return;
+        }
+
+        String format = outputFormat(image.getContentType());
+        List<ImageVariant> variants = new ArrayList<>();
+        for (int width : widths) {
+            if (width >= source.getWidth()) {
+                break;
+            }
+            byte[] data = encode(resize(source, width, format), format);
+            String key = variantKey(image.getImageId(), width);
+            imageStorage.store(key, new ByteArrayInputStream(data), "image/" + format);
+            variants.add(new ImageVariant(width, key, "image/" + format, HashUtils.sha256Hex(data), data.length));
+        }
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(image.getImageId())),
+                new Update().set("variants", variants).set("variantsProcessed", true), Image.class);
+    }
+
+    // reads the header first, so a small file declaring a huge canvas is never decoded into memory
+    private BufferedImage decode(InputStream in, String imageId) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            if (stream == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    logger.warn("Skipping variants for image {}: {} pixels exceeds the limit of {}", imageId, pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private InputStream openOriginal(Image image) throws IOException {
+        if (image.getStorageKey() != null) {
+            return Channels.newInputStream(imageStorage.open(image.getStorageKey()));
+        }
+        Image inline = image.getData() != null ? image : mongoTemplate.findById(image.getImageId(), Image.class);
+        if (inline == null || inline.getData() == null) {
+            throw new IOException("Image content not found: " + image.getImageId());
+        }
+        return new ByteArrayInputStream(inline.getData().getData());
+    }
+
+    private BufferedImage resize(BufferedImage source, int width, String format) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        boolean keepAlpha = source.getColorModel().hasAlpha() && format.equals("png");
+        BufferedImage target = new BufferedImage(width, height,
+                keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D graphics = target.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, format, out)) {
+            throw new IOException("No ImageIO writer for format: " + format);
+        }
+        return out.toByteArray();
+    }
+
+    private String outputFormat(String contentType) {
+        return switch (contentType) {
+            case "image/jpeg", "image/jpg" -> "jpeg";
+            default -> "png";
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
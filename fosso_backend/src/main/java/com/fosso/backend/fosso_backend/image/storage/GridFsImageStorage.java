@@ -0,0 +1,60 @@
+package com.fosso.backend.fosso_backend.image.storage;
+
+import com.mongodb.MongoGridFSException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+@Component
+@ConditionalOnProperty(name = "app.images.storage", havingValue = "gridfs", matchIfMissing = true)
+public class GridFsImageStorage implements ImageStorage {
+
+    private static final int CHUNK_SIZE = 255 * 1024;
+
+    private final GridFSBucket bucket;
+
+    public GridFsImageStorage(MongoTemplate mongoTemplate,
+                              @Value("${app.images.gridfs.bucket:image_files}") String bucketName) {
+        this.bucket = GridFSBuckets.create(mongoTemplate.getDb(), bucketName);
+    }
+
+    @Override
+    public long store(String key, InputStream content, String contentType) throws IOException {
+        GridFSUploadOptions options = new GridFSUploadOptions()
+                .chunkSizeBytes(CHUNK_SIZE)
+                .metadata(new Document("contentType", contentType));
+        try (GridFSUploadStream uploadStream = bucket.openUploadStream(new BsonString(key), key, options)) {
+            return content.transferTo(uploadStream);
+        }
+    }
+
+    @Override
+    public ReadableByteChannel open(String key) throws IOException {
+        try {
+            return Channels.newChannel(bucket.openDownloadStream(new BsonString(key)));
+        } catch (MongoGridFSException e) {
+            throw new IOException("Image content not found: " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            bucket.delete(new BsonString(key));
+        } catch (MongoGridFSException ignored) {
+            // already gone
+        }
+    }
+}
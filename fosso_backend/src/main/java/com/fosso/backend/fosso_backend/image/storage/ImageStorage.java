@@ -0,0 +1,11 @@
+package com.fosso.backend.fosso_backend.image.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+
+public interface ImageStorage {
+    long store(String key, InputStream content, String contentType) throws IOException;
+    ReadableByteChannel open(String key) throws IOException;
+    void delete(String key) throws IOException;
+}
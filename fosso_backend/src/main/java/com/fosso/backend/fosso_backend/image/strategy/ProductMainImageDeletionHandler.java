@@ -2,13 +2,10 @@ package com.fosso.backend.fosso_backend.image.strategy;
 
 import com.fosso.backend.fosso_backend.common.enums.ImageType;
 import com.fosso.backend.fosso_backend.common.exception.ResourceNotFoundException;
-import com.fosso.backend.fosso_backend.product.model.Product;
 import com.fosso.backend.fosso_backend.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 @Component
 @RequiredArgsConstructor
 public class ProductMainImageDeletionHandler implements ImageDeletionHandler {
@@ -21,12 +18,8 @@ public class ProductMainImageDeletionHandler implements ImageDeletionHandler {
 
     @Override
     public void handleImageDeletion(String ownerId, String inImageId) {
-        Product product = productRepository.findById(ownerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-        List<String> imageList = product.getMainImagesId().stream()
-                .filter(imageId -> !imageId.equals(inImageId))
-                .toList();
-        product.setMainImagesId(imageList);
-        productRepository.save(product);
+        if (!productRepository.removeMainImageId(ownerId, inImageId)) {
+            throw new ResourceNotFoundException("Product not found");
+        }
     }
 }
@@ -2,7 +2,6 @@ package com.fosso.backend.fosso_backend.image.strategy;
 
 import com.fosso.backend.fosso_backend.common.enums.ImageType;
 import com.fosso.backend.fosso_backend.common.exception.ResourceNotFoundException;
-import com.fosso.backend.fosso_backend.product.model.Product;
 import com.fosso.backend.fosso_backend.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -20,10 +19,8 @@ public class ProductMainImageHandler implements ImageOwnerHandler {
 
     @Override
     public void handleImageAssociation(String ownerId, String imageId) {
-        Product product = productRepository.findById(ownerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-        product.setMainImageId(imageId);
-
-        productRepository.save(product);
+        if (!productRepository.addMainImageId(ownerId, imageId)) {
+            throw new ResourceNotFoundException("Product not found");
+        }
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.fosso.backend.fosso_backend.order.mapper;
 import com.fosso.backend.fosso_backend.order.dto.OrderBriefDTO;
 import com.fosso.backend.fosso_backend.order.dto.OrderDetailedDTO;
 import com.fosso.backend.fosso_backend.order.dto.OrderMerchantDTO;
+import com.fosso.backend.fosso_backend.order.model.MerchantOrderLine;
 import com.fosso.backend.fosso_backend.order.model.Order;
 import com.fosso.backend.fosso_backend.order.model.OrderDetail;
 
@@ -61,4 +62,52 @@ public class OrderMapper {
         dto.setShippingAddress(order.getShippingAddress());
         return dto;
     }
+
+    public static MerchantOrderLine convertToMerchantOrderLine(Order order, OrderDetail orderDetail) {
+        MerchantOrderLine line = new MerchantOrderLine();
+        line.setLineId(MerchantOrderLine.lineId(order.getOrderId(), orderDetail.getProductId(),
+                orderDetail.getColor(), orderDetail.getSize()));
+        line.setOrderId(order.getOrderId());
+        line.setOrderTrackingNumber(order.getOrderTrackingNumber());
+        line.setCustomerId(order.getCustomerId());
+        line.setMerchantId(orderDetail.getMerchantId());
+        line.setProductId(orderDetail.getProductId());
+        line.setProductName(orderDetail.getProductName());
+        line.setQuantity(orderDetail.getQuantity());
+        line.setColor(orderDetail.getColor());
+        line.setSize(orderDetail.getSize());
+        line.setPrice(orderDetail.getPrice());
+        line.setSubtotal(orderDetail.getSubtotal());
+        line.setShippingCost(orderDetail.getShippingCost());
+        line.setOrderTrack(orderDetail.getOrderTrack());
+        line.setPaymentMethod(order.getPaymentMethod());
+        line.setOrderDateTime(order.getOrderDateTime());
+        line.setDeliveryDays(order.getDeliveryDays());
+        line.setDeliveryDate(order.getDeliveryDate());
+        line.setShippingAddress(order.getShippingAddress());
+        return line;
+    }
+
+    public static OrderMerchantDTO convertToMerchantDTO(MerchantOrderLine line) {
+        OrderMerchantDTO dto = new OrderMerchantDTO();
+        dto.setOrderId(line.getOrderId());
+        dto.setOrderTrackingNumber(line.getOrderTrackingNumber());
+        dto.setCustomerId(line.getCustomerId());
+        dto.setMerchantId(line.getMerchantId());
+        dto.setProductId(line.getProductId());
+        dto.setProductName(line.getProductName());
+        dto.setQuantity(line.getQuantity());
+        dto.setColor(line.getColor());
+        dto.setSize(line.getSize());
+        dto.setPrice(line.getPrice());
+        dto.setSubtotal(line.getSubtotal());
+        dto.setShippingCost(line.getShippingCost());
+        dto.setOrderTrack(line.getOrderTrack());
+        dto.setPaymentMethod(line.getPaymentMethod());
+        dto.setOrderDateTime(line.getOrderDateTime());
+        dto.setDeliveryDays(line.getDeliveryDays());
+        dto.setDeliveryDate(line.getDeliveryDate());
+        dto.setShippingAddress(line.getShippingAddress());
+        return dto;
+    }
 }
@@ -0,0 +1,43 @@
+package com.fosso.backend.fosso_backend.order.model;
+
+import com.fosso.backend.fosso_backend.common.enums.PaymentMethod;
+import com.fosso.backend.fosso_backend.user.model.Address;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// one document per order line, copied from Order on every save
+@Data
+@Document(collection = "merchant_order_lines")
+@CompoundIndex(name = "merchant_order_date_idx", def = "{'merchantId': 1, 'orderDateTime': -1}")
+public class MerchantOrderLine {
+    @Id
+    private String lineId;
+    private String orderId;
+    private String orderTrackingNumber;
+    private String customerId;
+    private String merchantId;
+    private String productId;
+    private String productName;
+    private int quantity;
+    private String color;
+    private String size;
+    private BigDecimal price;
+    private BigDecimal subtotal;
+    private BigDecimal shippingCost;
+    private OrderTrack orderTrack;
+    private PaymentMethod paymentMethod;
+    private LocalDateTime orderDateTime;
+    private int deliveryDays;
+    private LocalDate deliveryDate;
+    private Address shippingAddress;
+
+    public static String lineId(String orderId, String productId, String color, String size) {
+        return String.join("|", orderId, productId, color, size);
+    }
+}
@@ -3,9 +3,11 @@ package com.fosso.backend.fosso_backend.order.model;
 import com.fosso.backend.fosso_backend.common.enums.OrderStatus;
 import com.fosso.backend.fosso_backend.common.enums.PaymentMethod;
 import com.fosso.backend.fosso_backend.common.interfaces.LoggableEntity;
+import com.fosso.backend.fosso_backend.common.utils.SearchKeyUtils;
 import com.fosso.backend.fosso_backend.user.model.Address;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -13,10 +15,13 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @Data
 @Document(collection = "orders")
+@CompoundIndex(name = "merchant_order_date_id_idx", def = "{'orderDetails.merchantId': 1, 'orderDateTime': -1, '_id': -1}")
 public class Order implements LoggableEntity {
     @Id
     private String orderId;
@@ -37,6 +42,28 @@ public class Order implements LoggableEntity {
     private List<OrderDetail> orderDetails = new ArrayList<>();
     private LocalDateTime createdDateTime;
     private LocalDateTime updatedDateTime;
+    // normalized tracking number, address and prefix tokens for admin search
+    @Indexed
+    private List<String> searchTokens = new ArrayList<>();
+
+    public void refreshSearchTokens() {
+        Set<String> tokens = new LinkedHashSet<>();
+        String trackingNumber = SearchKeyUtils.compact(orderTrackingNumber);
+        if (!trackingNumber.isEmpty()) {
+            SearchKeyUtils.addPrefixes(tokens, trackingNumber, 3);
+        }
+        if (shippingAddress != null) {
+            String postalCode = SearchKeyUtils.compact(shippingAddress.getPostalCode());
+            if (!postalCode.isEmpty()) {
+                tokens.add(postalCode);
+                tokens.addAll(SearchKeyUtils.tokens(shippingAddress.getPostalCode()));
+            }
+            tokens.addAll(SearchKeyUtils.prefixesOfTokens(shippingAddress.getCity(), 2));
+            tokens.addAll(SearchKeyUtils.prefixesOfTokens(shippingAddress.getState(), 2));
+            tokens.addAll(SearchKeyUtils.prefixesOfTokens(shippingAddress.getCountry(), 2));
+        }
+        this.searchTokens = new ArrayList<>(tokens);
+    }
 
     @Override
     public String getEntityId() {
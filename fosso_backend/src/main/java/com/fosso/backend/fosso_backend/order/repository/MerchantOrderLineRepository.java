@@ -0,0 +1,10 @@
+package com.fosso.backend.fosso_backend.order.repository;
+
+import com.fosso.backend.fosso_backend.order.model.MerchantOrderLine;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface MerchantOrderLineRepository extends MongoRepository<MerchantOrderLine, String> {
+    Page<MerchantOrderLine> findByMerchantId(String merchantId, Pageable pageable);
+}
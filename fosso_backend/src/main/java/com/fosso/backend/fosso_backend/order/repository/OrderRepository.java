@@ -13,7 +13,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends MongoRepository<Order, String> {
+public interface OrderRepository extends MongoRepository<Order, String>, OrderRepositoryCustom {
 
     Page<Order> findByCustomerId(String customerId, Pageable pageable);
 
@@ -21,11 +21,9 @@ public interface OrderRepository extends MongoRepository<Order, String> {
 
     Optional<Order> findByOrderTrackingNumber(String trackingNumber);
 
-    @Query("{'$or': [{'orderTrackingNumber': {$regex: ?0, $options: 'i'}}, {'shippingAddress.addressLine1': {$regex: ?0, $options: 'i'}}, {'shippingAddress.addressLine2': {$regex: ?0, $options: 'i'}}, {'shippingAddress.city': {$regex: ?0, $options: 'i'}}, {'shippingAddress.state': {$regex: ?0, $options: 'i'}}, {'shippingAddress.postalCode': {$regex: ?0, $options: 'i'}}, {'shippingAddress.country': {$regex: ?0, $options: 'i'}}]}")
-    Page<Order> findByKeyword(String keyword, Pageable pageable);
+    @Query("{'searchTokens': {$all: ?0}}")
+    Page<Order> findBySearchTokens(List<String> tokens, Pageable pageable);
 
     @Query("{'orderDateTime': {$gte: ?0, $lte: ?1}}")
     List<Order> findByOrderTimeBetween(LocalDateTime startDate, LocalDateTime  endDate);
-
-    @Query("{'orderDetails.merchantId': ?0}")
-    Page<Order> findByMerchantIdInOrderDetails(String merchantId, Pageable pageable);}
\ No newline at end of file
+}
\ No newline at end of file
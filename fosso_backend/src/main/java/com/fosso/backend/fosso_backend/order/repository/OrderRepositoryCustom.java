@@ -0,0 +1,10 @@
+package com.fosso.backend.fosso_backend.order.repository;
+
+import com.fosso.backend.fosso_backend.order.dto.OrderMerchantDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface OrderRepositoryCustom {
+    Page<OrderMerchantDTO> findMerchantOrderLines(String merchantId, Pageable pageable);
+    void rebuildMerchantOrderLines();
+}
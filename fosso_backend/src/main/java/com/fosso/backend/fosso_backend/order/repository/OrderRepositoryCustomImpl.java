@@ -0,0 +1,124 @@
+package com.fosso.backend.fosso_backend.order.repository;
+
+import com.fosso.backend.fosso_backend.order.dto.OrderMerchantDTO;
+import com.fosso.backend.fosso_backend.order.model.MerchantOrderLine;
+import com.fosso.backend.fosso_backend.order.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    // sortable OrderMerchantDTO fields that live on the order itself
+    private static final Set<String> ORDER_SORT_FIELDS = Set.of("orderDateTime", "orderTrackingNumber", "deliveryDate");
+    // sortable OrderMerchantDTO fields that live on the order line
+    private static final Set<String> LINE_SORT_FIELDS = Set.of("productName", "quantity", "price", "subtotal");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<OrderMerchantDTO> findMerchantOrderLines(String merchantId, Pageable pageable) {
+        Document merchantMatch = new Document("$match", new Document("orderDetails.merchantId", merchantId));
+
+        Document sort = new Document();
+        boolean sortsOnLines = false;
+        for (Sort.Order order : pageable.getSort()) {
+            int direction = order.isAscending() ? 1 : -1;
+            if (ORDER_SORT_FIELDS.contains(order.getProperty())) {
+                sort.append(order.getProperty(), direction);
+            } else if (LINE_SORT_FIELDS.contains(order.getProperty())) {
+                sort.append("orderDetails." + order.getProperty(), direction);
+                sortsOnLines = true;
+            } else {
+                throw new IllegalArgumentException("Unsupported sort field: " + order.getProperty());
+            }
+        }
+        sort.append("_id", -1);
+
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(merchantMatch);
+        if (sortsOnLines) {
+            pipeline.add(new Document("$unwind", "$orderDetails"));
+            pipeline.add(merchantMatch);
+            pipeline.add(new Document("$sort", sort));
+        } else {
+            // sorting whole orders before the unwind lets the merchant/date index serve the sort
+            pipeline.add(new Document("$sort", sort));
+            pipeline.add(new Document("$unwind", "$orderDetails"));
+            pipeline.add(merchantMatch);
+        }
+
+        pipeline.add(new Document("$facet", new Document()
+                .append("lines", List.of(
+                        new Document("$skip", pageable.getOffset()),
+                        new Document("$limit", pageable.getPageSize()),
+                        new Document("$project", lineProjection())))
+                .append("total", List.of(new Document("$count", "count")))));
+
+        Document result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class))
+                .aggregate(pipeline)
+                .first();
+
+        List<OrderMerchantDTO> lines = new ArrayList<>();
+        long total = 0;
+        if (result != null) {
+            for (Document line : result.getList("lines", Document.class)) {
+                lines.add(mongoTemplate.getConverter().read(OrderMerchantDTO.class, line));
+            }
+            List<Document> count = result.getList("total", Document.class);
+            if (!count.isEmpty()) {
+                total = ((Number) count.getFirst().get("count")).longValue();
+            }
+        }
+        return new PageImpl<>(lines, pageable, total);
+    }
+
+    @Override
+    public void rebuildMerchantOrderLines() {
+        // same unwind and line shape as findMerchantOrderLines, keyed like MerchantOrderLine.lineId
+        Document projection = lineProjection()
+                .append("_id", new Document("$concat", List.of(
+                        new Document("$toString", "$_id"), "|",
+                        "$orderDetails.productId", "|",
+                        "$orderDetails.color", "|",
+                        "$orderDetails.size")));
+
+        List<Document> pipeline = List.of(
+                new Document("$unwind", "$orderDetails"),
+                new Document("$project", projection),
+                new Document("$merge", new Document()
+                        .append("into", mongoTemplate.getCollectionName(MerchantOrderLine.class))
+                        .append("on", "_id")
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert")));
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class))
+                .aggregate(pipeline)
+                .toCollection();
+    }
+
+    private Document lineProjection() {
+        Document projection = new Document("_id", 0)
+                .append("orderId", "$_id");
+        for (String field : List.of("orderTrackingNumber", "customerId", "paymentMethod", "orderDateTime",
+                "deliveryDays", "deliveryDate", "shippingAddress")) {
+            projection.append(field, "$" + field);
+        }
+        for (String field : List.of("merchantId", "productId", "productName", "quantity", "color", "size",
+                "price", "subtotal", "shippingCost", "orderTrack")) {
+            projection.append(field, "$orderDetails." + field);
+        }
+        return projection;
+    }
+}
@@ -0,0 +1,46 @@
+package com.fosso.backend.fosso_backend.order.service.impl;
+
+import com.fosso.backend.fosso_backend.order.model.MerchantOrderLine;
+import com.fosso.backend.fosso_backend.order.model.Order;
+import com.fosso.backend.fosso_backend.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// copies every order line into merchant_order_lines: at startup when the collection is still empty, and nightly to
+// catch lines whose sync failed before a restart dropped MerchantOrderLineWriter's retry list
+@Component
+@RequiredArgsConstructor
+public class MerchantOrderLineBackfill implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MerchantOrderLineBackfill.class);
+
+    private final OrderRepository orderRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.migrations.merchant-order-lines.force-rebuild:false}")
+    private boolean forceRebuild;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean unpopulated = !mongoTemplate.exists(new Query(), MerchantOrderLine.class)
+                && mongoTemplate.exists(new Query(), Order.class);
+        if (!forceRebuild && !unpopulated) {
+            return;
+        }
+        rebuild();
+    }
+
+    @Scheduled(cron = "${app.orders.line-rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        orderRepository.rebuildMerchantOrderLines();
+        logger.info("Rebuilt merchant_order_lines from orders");
+    }
+}
@@ -0,0 +1,71 @@
+package com.fosso.backend.fosso_backend.order.service.impl;
+
+import com.fosso.backend.fosso_backend.order.mapper.OrderMapper;
+import com.fosso.backend.fosso_backend.order.model.MerchantOrderLine;
+import com.fosso.backend.fosso_backend.order.model.Order;
+import com.fosso.backend.fosso_backend.order.model.OrderDetail;
+import com.fosso.backend.fosso_backend.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class MerchantOrderLineWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MerchantOrderLineWriter.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final OrderRepository orderRepository;
+
+    // orders whose lines failed to sync, retried from the saved order; the nightly rebuild covers a restart
+    private final Set<String> failedOrderIds = ConcurrentHashMap.newKeySet();
+
+    public void sync(Order order) {
+        if (order.getOrderDetails().isEmpty()) {
+            return;
+        }
+        try {
+            write(order);
+            failedOrderIds.remove(order.getOrderId());
+        } catch (RuntimeException e) {
+            failedOrderIds.add(order.getOrderId());
+            logger.error("Failed to sync merchant order lines for order {}", order.getOrderId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.line-resync-ms:60000}")
+    public void resyncFailed() {
+        if (failedOrderIds.isEmpty()) {
+            return;
+        }
+        Set<String> orderIds = Set.copyOf(failedOrderIds);
+        List<Order> orders = orderRepository.findAllById(orderIds);
+        orders.forEach(this::sync);
+        // orders deleted since the failure have nothing left to copy
+        orderIds.stream()
+                .filter(orderId -> orders.stream().noneMatch(order -> orderId.equals(order.getOrderId())))
+                .forEach(failedOrderIds::remove);
+    }
+
+    private void write(Order order) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MerchantOrderLine.class);
+        for (OrderDetail detail : order.getOrderDetails()) {
+            MerchantOrderLine line = OrderMapper.convertToMerchantOrderLine(order, detail);
+            bulkOps.replaceOne(new Query(Criteria.where("_id").is(line.getLineId())), line,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        bulkOps.execute();
+    }
+}
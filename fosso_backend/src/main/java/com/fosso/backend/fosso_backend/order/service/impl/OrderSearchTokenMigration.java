@@ -0,0 +1,38 @@
+package com.fosso.backend.fosso_backend.order.service.impl;
+
+import com.fosso.backend.fosso_backend.common.utils.BackfillUtils;
+import com.fosso.backend.fosso_backend.order.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+// orders placed before searchTokens existed are invisible to order search; force-rebuild retokenizes every order
+// after a change to how tracking numbers or addresses are tokenized
+@Component
+@RequiredArgsConstructor
+public class OrderSearchTokenMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSearchTokenMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.migrations.order-search-tokens.force-rebuild:false}")
+    private boolean forceRebuild;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long updated = BackfillUtils.fillMissing(mongoTemplate, Order.class, "searchTokens", forceRebuild,
+                Order::getOrderId,
+                order -> {
+                    order.refreshSearchTokens();
+                    return order.getSearchTokens();
+                },
+                "orderTrackingNumber", "shippingAddress");
+        logger.info("Backfilled search tokens for {} orders", updated);
+    }
+}
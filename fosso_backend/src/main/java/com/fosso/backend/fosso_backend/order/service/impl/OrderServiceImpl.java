@@ -6,22 +6,28 @@ import com.fosso.backend.fosso_backend.common.aop.Loggable;
 import com.fosso.backend.fosso_backend.common.enums.OrderStatus;
 import com.fosso.backend.fosso_backend.common.exception.CartEmptyException;
 import com.fosso.backend.fosso_backend.common.exception.ResourceNotFoundException;
+import com.fosso.backend.fosso_backend.common.utils.SearchKeyUtils;
 import com.fosso.backend.fosso_backend.order.dto.CheckoutRequest;
 import com.fosso.backend.fosso_backend.order.dto.OrderMerchantDTO;
-import com.fosso.backend.fosso_backend.order.mapper.OrderMapper;
 import com.fosso.backend.fosso_backend.order.model.Order;
+import com.fosso.backend.fosso_backend.order.mapper.OrderMapper;
 import com.fosso.backend.fosso_backend.order.model.OrderDetail;
 import com.fosso.backend.fosso_backend.order.model.OrderTrack;
+import com.fosso.backend.fosso_backend.product.dto.StockAdjustment;
 import com.fosso.backend.fosso_backend.product.model.Product;
+import com.fosso.backend.fosso_backend.order.repository.MerchantOrderLineRepository;
 import com.fosso.backend.fosso_backend.order.repository.OrderRepository;
 import com.fosso.backend.fosso_backend.product.model.ProductVariant;
 import com.fosso.backend.fosso_backend.product.service.ProductService;
+import com.fosso.backend.fosso_backend.reservation.service.ReservationService;
 import com.fosso.backend.fosso_backend.security.AuthenticatedUserProvider;
 import com.fosso.backend.fosso_backend.user.model.Address;
 import com.fosso.backend.fosso_backend.user.model.User;
 import com.fosso.backend.fosso_backend.order.service.OrderService;
+import com.fosso.backend.fosso_backend.user.service.CustomerStatsService;
 import com.fosso.backend.fosso_backend.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -29,28 +35,53 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    private static final Pattern TRACKING_NUMBER = Pattern.compile("(?i)SHP[0-9A-F]{8}");
+
     private final OrderRepository orderRepository;
     private final UserService userService;
     private final ProductService productService;
     private final CartItemService cartItemService;
     private final AuthenticatedUserProvider userProvider;
+    private final ReservationService reservationService;
+    private final CustomerStatsService customerStatsService;
+    private final MerchantOrderLineRepository merchantOrderLineRepository;
+    private final MerchantOrderLineWriter merchantOrderLineWriter;
+
+    @Value("${app.orders.merchant-lines.read-model:true}")
+    private boolean merchantLinesReadModel;
 
     @Override
     public Page<Order> listByPage(String keyword, Pageable pageable) {
-        if (keyword != null && !keyword.isEmpty()) {
-            return orderRepository.findByKeyword(keyword, pageable);
+        if (keyword == null || keyword.isBlank()) {
+            return orderRepository.findAll(pageable);
         }
-        return orderRepository.findAll(pageable);
+        // exact tracking numbers skip the token index entirely
+        if (TRACKING_NUMBER.matcher(keyword.trim()).matches()) {
+            List<Order> match = orderRepository.findByOrderTrackingNumber(keyword.trim().toUpperCase(Locale.ROOT))
+                    .map(List::of)
+                    .orElse(List.of());
+            // the single match only ever sits on the first page
+            return new PageImpl<>(pageable.getOffset() > 0 ? List.of() : match, pageable, match.size());
+        }
+        List<String> tokens = SearchKeyUtils.tokens(keyword);
+        if (tokens.isEmpty()) {
+            return orderRepository.findAll(pageable);
+        }
+        return orderRepository.findBySearchTokens(tokens, pageable);
     }
 
     @Override
@@ -99,33 +130,43 @@ public class OrderServiceImpl implements OrderService {
         if (order.getShippingAddress() == null) {
             throw new ResourceNotFoundException("Shipping address not found");
         }
+        order.refreshSearchTokens();
 
         BigDecimal productCost = BigDecimal.ZERO;
         BigDecimal subtotal = BigDecimal.ZERO;
         BigDecimal shippingCost = BigDecimal.ZERO;
 
-        for (CartItem item : cartItems) {
-            Product product = productService.getProductById(item.getProductId());
+        Map<String, Product> productsById = productService.getProductsByIds(
+                        cartItems.stream().map(CartItem::getProductId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
 
-            User merchant = userService.getUserById(product.getMerchantId());
+        Set<String> merchantIds = productsById.values().stream()
+                .map(Product::getMerchantId)
+                .collect(Collectors.toSet());
+        Set<String> existingMerchantIds = userService.getUsersByIds(merchantIds).stream()
+                .map(User::getUserId)
+                .collect(Collectors.toSet());
 
-            ProductVariant matchingVariant = product.getProductVariants()
-                    .stream()
-                    .filter(variant ->
-                            variant.getColor().equalsIgnoreCase(item.getColor()) &&
-                                    variant.getSize().equalsIgnoreCase(item.getSize()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException("No product variant found with specified color and size."));
+        List<StockAdjustment> stockAdjustments = new ArrayList<>();
 
-            if (matchingVariant.getStockQuantity() < item.getQuantity()) {
-                throw new IllegalArgumentException("Not enough stock available for this product.");
+        for (CartItem item : cartItems) {
+            Product product = productsById.get(item.getProductId());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found with ID: " + item.getProductId());
             }
-            matchingVariant.setStockQuantity(matchingVariant.getStockQuantity() - item.getQuantity());
+            if (!existingMerchantIds.contains(product.getMerchantId())) {
+                throw new ResourceNotFoundException("User not found with ID: " + product.getMerchantId());
+            }
+
+            ProductVariant matchingVariant = product.findVariant(item.getColor(), item.getSize())
+                    .orElseThrow(() -> new IllegalArgumentException("No product variant found with specified color and size."));
 
-            productService.updateProduct(product);
+            stockAdjustments.add(new StockAdjustment(product.getProductId(),
+                    matchingVariant.getColor(), matchingVariant.getSize(), item.getQuantity()));
 
             OrderDetail orderDetail = new OrderDetail();
-            orderDetail.setMerchantId(merchant.getUserId());
+            orderDetail.setMerchantId(product.getMerchantId());
             orderDetail.setProductId(product.getProductId());
             orderDetail.setProductName(product.getProductName());
 
@@ -177,9 +218,19 @@ public class OrderServiceImpl implements OrderService {
         order.setDeliveryDays(2);
         order.setDeliveryDate(LocalDate.now().plusDays(2));
 
-        Order savedOrder = orderRepository.save(order);
+        reservationService.commit(customer.getUserId(), stockAdjustments);
+
+        Order savedOrder;
+        try {
+            savedOrder = orderRepository.save(order);
+        } catch (RuntimeException e) {
+            productService.incrementStock(stockAdjustments);
+            throw e;
+        }
+        merchantOrderLineWriter.sync(savedOrder);
 
         cartItemService.deleteByCustomerId(customer.getUserId());
+        customerStatsService.applyDelta(customer.getUserId(), 1, savedOrder.getTotal(), savedOrder.getOrderDateTime());
 
         return savedOrder;
     }
@@ -208,6 +259,8 @@ public class OrderServiceImpl implements OrderService {
         }
 
         orderRepository.save(order);
+        merchantOrderLineWriter.sync(order);
+        customerStatsService.applyDelta(order.getCustomerId(), -1, order.getTotal().negate(), null);
 
         return "Order status updated successfully";
     }
@@ -230,7 +283,9 @@ public class OrderServiceImpl implements OrderService {
             orderDetail.getOrderTrack().setStatus(status);
         }
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        merchantOrderLineWriter.sync(savedOrder);
+        return savedOrder;
     }
 
     @Override
@@ -269,7 +324,9 @@ public class OrderServiceImpl implements OrderService {
             order.setStatus(OrderStatus.PROCESSING);
         }
 
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        merchantOrderLineWriter.sync(savedOrder);
+        return savedOrder;
     }
 
 
@@ -295,6 +352,9 @@ public class OrderServiceImpl implements OrderService {
                 .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Product variant not found in order"));
 
+        boolean countedBefore = order.getStatus() != OrderStatus.CANCELLED;
+        BigDecimal totalBefore = order.getTotal();
+
         detailToRemove.getOrderTrack().setStatus(OrderStatus.CANCELLED);
         detailToRemove.getOrderTrack().setNotes(notes);
 
@@ -314,32 +374,25 @@ public class OrderServiceImpl implements OrderService {
         }
 
         orderRepository.save(order);
+        merchantOrderLineWriter.sync(order);
+
+        boolean countedAfter = order.getStatus() != OrderStatus.CANCELLED;
+        BigDecimal spendBefore = countedBefore ? totalBefore : BigDecimal.ZERO;
+        BigDecimal spendAfter = countedAfter ? order.getTotal() : BigDecimal.ZERO;
+        customerStatsService.applyDelta(order.getCustomerId(), (countedAfter ? 1 : 0) - (countedBefore ? 1 : 0),
+                spendAfter.subtract(spendBefore), null);
         return "Product variant removed from order successfully";
     }
 
     @Override
     public Page<OrderMerchantDTO> listByMerchant(Pageable pageable) {
-        User user = userProvider.getAuthenticatedUser();
-        Page<Order> orderPage = orderRepository.findByMerchantIdInOrderDetails(user.getUserId(), pageable);
-        if (orderPage.isEmpty()) {
-            throw new ResourceNotFoundException("Order not found for merchant: " + user.getEmail());
+        String merchantId = userProvider.getAuthenticatedUserId();
+        Page<OrderMerchantDTO> lines = merchantLinesReadModel
+                ? merchantOrderLineRepository.findByMerchantId(merchantId, pageable).map(OrderMapper::convertToMerchantDTO)
+                : orderRepository.findMerchantOrderLines(merchantId, pageable);
+        if (lines.isEmpty()) {
+            throw new ResourceNotFoundException("Order not found for merchant: " + userProvider.getAuthenticatedEmail());
         }
-
-        List<OrderMerchantDTO> filteredOrders = orderPage.getContent().stream()
-                .flatMap(order -> {
-                    List<OrderDetail> merchantOrderDetails = order.getOrderDetails().stream()
-                            .filter(detail -> detail.getMerchantId().equals(user.getUserId()))
-                            .toList();
-
-                    if (merchantOrderDetails.isEmpty()) {
-                        return Stream.empty();
-                    }
-
-                    return merchantOrderDetails.stream()
-                            .map(orderDetail -> OrderMapper.convertToMerchantDTO(order, orderDetail));
-                })
-                .collect(Collectors.toList());
-
-        return new PageImpl<>(filteredOrders, pageable, orderPage.getTotalPages());
+        return lines;
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import com.fosso.backend.fosso_backend.product.service.ProductService;
 import com.fosso.backend.fosso_backend.common.utils.PaginationUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,11 +15,15 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
 
+import static com.fosso.backend.fosso_backend.common.utils.FilterUtils.hasValue;
+
 @RestController
 @RequestMapping("/products")
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final String[] DEFAULT_SORT = {"createdDateTime", "desc"};
+
     private final ProductService productService;
 
     @GetMapping
@@ -26,9 +31,22 @@ public class ProductController {
             @ModelAttribute ProductFilterCriteria filterCriteria,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "createdDateTime,desc") String[] sort) {
+            @RequestParam(required = false) String[] sort,
+            @RequestParam(defaultValue = "false") boolean facets) {
+
+        // a keyword search without an explicit sort is returned in relevance order
+        Pageable pageable = sort == null && hasValue(filterCriteria.getKeyword())
+                ? PageRequest.of(page - 1, size)
+                : PaginationUtil.createPageable(page, size, sort != null ? sort : DEFAULT_SORT);
 
-        Pageable pageable = PaginationUtil.createPageable(page, size, sort);
+        if (facets) {
+            ProductFacetPage result = productService.getFilteredProductsWithFacets(filterCriteria, pageable);
+            List<ProductBriefDTO> products = ProductMapper.convertToBriefDTOs(result.getPage());
+
+            Map<String, Object> response = PaginationUtil.buildPageResponse(result.getPage(), products);
+            response.put("facets", result.getFacets());
+            return ResponseEntity.ok(response);
+        }
 
         Page<Product> pageProducts = productService.getFilteredProducts(filterCriteria, pageable);
 
@@ -37,14 +55,30 @@ public class ProductController {
         return ResponseEntity.ok(PaginationUtil.buildPageResponse(pageProducts, products));
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<Map<String, Object>> scrollProducts(
+            @ModelAttribute ProductFilterCriteria filterCriteria,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdDateTime,desc") String[] sort) {
+
+        ProductScrollResult result = productService.getFilteredProductsAfter(filterCriteria, after, sort, size);
+
+        List<ProductBriefDTO> products = result.getProducts().stream()
+                .map(ProductMapper::convertToBriefDTO)
+                .toList();
+
+        return ResponseEntity.ok(PaginationUtil.buildCursorResponse(products, result.getNextCursor()));
+    }
+
     @GetMapping("/{productId}")
     public ResponseEntity<ProductDetailedDTO> getProductById(@PathVariable String productId) {
         Product product = productService.getProductById(productId);
         return ResponseEntity.ok(ProductMapper.convertToDetailedDTO(product));
     }
 
-    @PutMapping("/{productId}/review-count/increment")
-    public ResponseEntity<String> incrementReviewCount(@PathVariable String productId) {
-        return ResponseEntity.ok(productService.incrementReviewCount(productId));
+    @PutMapping("/{productId}/view-count/increment")
+    public ResponseEntity<String> incrementViewCount(@PathVariable String productId) {
+        return ResponseEntity.ok(productService.incrementViewCount(productId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.fosso.backend.fosso_backend.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FacetBucket {
+    private String value;
+    private String label;
+    private long count;
+}
@@ -0,0 +1,75 @@
+package com.fosso.backend.fosso_backend.product.dto;
+
+import com.fosso.backend.fosso_backend.product.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+public class ProductCursor {
+
+    public static final Set<String> SORT_FIELDS = Set.of("createdDateTime", "price", "productName");
+    // stands for a null sort value; '~' never appears in base64url output
+    private static final String NULL_PART = "~";
+
+    private String sortField;
+    private Sort.Direction direction;
+    private String sortValue;
+    private String productId;
+
+    public static ProductCursor from(Product product, String sortField, Sort.Direction direction) {
+        String value = switch (sortField) {
+            case "createdDateTime" -> product.getCreatedDateTime() == null ? null : product.getCreatedDateTime().toString();
+            case "price" -> product.getPrice() == null ? null : product.getPrice().toPlainString();
+            case "productName" -> product.getProductName();
+            default -> throw new IllegalArgumentException("Unsupported cursor sort field: " + sortField);
+        };
+        return new ProductCursor(sortField, direction, value, product.getProductId());
+    }
+
+    public Object typedSortValue() {
+        if (sortValue == null) {
+            return null;
+        }
+        return switch (sortField) {
+            case "createdDateTime" -> LocalDateTime.parse(sortValue);
+            case "price" -> new BigDecimal(sortValue);
+            case "productName" -> sortValue;
+            default -> throw new IllegalArgumentException("Unsupported cursor sort field: " + sortField);
+        };
+    }
+
+    public String encode() {
+        return String.join(".", part(sortField), part(direction.name()), part(sortValue), part(productId));
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try {
+            String[] parts = Arrays.stream(cursor.split("\\."))
+                    .map(part -> part.equals(NULL_PART) ? null : new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8))
+                    .toArray(String[]::new);
+            if (parts.length != 4 || parts[0] == null || parts[1] == null || parts[3] == null
+                    || !SORT_FIELDS.contains(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ProductCursor(parts[0], Sort.Direction.valueOf(parts[1]), parts[2], parts[3]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static String part(String value) {
+        if (value == null) {
+            return NULL_PART;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
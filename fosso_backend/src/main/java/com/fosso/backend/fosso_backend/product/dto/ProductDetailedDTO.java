@@ -31,4 +31,5 @@ public class ProductDetailedDTO {
     private List<String> imagesId;
     private Map<String, String> details;
     private Double rating;
+    private Map<String, Integer> ratingHistogram;
 }
@@ -0,0 +1,13 @@
+package com.fosso.backend.fosso_backend.product.dto;
+
+import com.fosso.backend.fosso_backend.product.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Page;
+
+@Data
+@AllArgsConstructor
+public class ProductFacetPage {
+    private Page<Product> page;
+    private ProductFacets facets;
+}
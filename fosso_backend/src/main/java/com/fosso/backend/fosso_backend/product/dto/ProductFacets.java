@@ -0,0 +1,16 @@
+package com.fosso.backend.fosso_backend.product.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ProductFacets {
+    private List<FacetBucket> brands = new ArrayList<>();
+    private List<FacetBucket> colors = new ArrayList<>();
+    private List<FacetBucket> sizes = new ArrayList<>();
+    private List<FacetBucket> genders = new ArrayList<>();
+    private List<FacetBucket> seasons = new ArrayList<>();
+    private List<FacetBucket> priceRanges = new ArrayList<>();
+}
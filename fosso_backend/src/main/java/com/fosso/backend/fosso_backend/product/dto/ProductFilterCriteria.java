@@ -10,12 +10,14 @@ import java.util.List;
 public class ProductFilterCriteria {
     private String keyword;
     private String categoryId;
-    private List<String> categoryIds;
+    // disabled subcategories of categoryId, resolved by the service
+    private List<String> excludedCategoryIds;
     private String brandId;
     private Gender gender;
     private String merchantId;
     private boolean newIn;
     private String color;
+    private String size;
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
 }
@@ -24,6 +24,7 @@ public class ProductMerchantDTO {
     private Season season;
     private Boolean enabled;
     private Integer reviewCount;
+    private long viewCount;
     private List<ProductVariantDTO> productVariants;
     private List<String> mainImagesId;
     private List<String> imagesId;
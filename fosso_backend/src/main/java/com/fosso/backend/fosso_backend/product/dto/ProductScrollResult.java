@@ -0,0 +1,14 @@
+package com.fosso.backend.fosso_backend.product.dto;
+
+import com.fosso.backend.fosso_backend.product.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ProductScrollResult {
+    private List<Product> products;
+    private String nextCursor;
+}
@@ -0,0 +1,13 @@
+package com.fosso.backend.fosso_backend.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StockAdjustment {
+    private String productId;
+    private String color;
+    private String size;
+    private int quantity;
+}
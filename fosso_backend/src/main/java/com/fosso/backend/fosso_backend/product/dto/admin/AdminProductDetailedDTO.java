@@ -26,6 +26,7 @@ public class AdminProductDetailedDTO {
     private Gender gender;
     private Season season;
     private Integer reviewCount;
+    private long viewCount;
     private List<ProductVariant> productVariants;
     private List<String> mainImagesId;
     private List<String> imagesId;
@@ -46,6 +46,7 @@ public class AdminProductMapper {
                 .gender(product.getGender())
                 .season(product.getSeason())
                 .reviewCount(product.getReviewCount())
+                .viewCount(product.getViewCount())
                 .productVariants(product.getProductVariants())
                 .mainImagesId(product.getMainImagesId())
                 .imagesId(product.getImagesId())
@@ -33,6 +33,7 @@ public class ProductMapper {
                 .enabled(product.isEnabled())
                 .details(product.getDetails())
                 .rating(product.getRating())
+                .ratingHistogram(product.getRatingHistogram())
                 .build();
     }
 
@@ -74,22 +75,6 @@ public class ProductMapper {
         return productVariant;
     }
 
-    public static void updateProductFromDTO(Product existingProduct, ProductUpdateDTO dto) {
-        existingProduct.setProductName(dto.getProductName());
-        existingProduct.setShortDescription(dto.getShortDescription());
-        existingProduct.setFullDescription(dto.getFullDescription());
-        existingProduct.setCategoryId(dto.getCategoryId());
-        existingProduct.setBrandId(dto.getBrandId());
-        existingProduct.setPrice(dto.getPrice());
-        existingProduct.setDiscountPrice(dto.getDiscountPrice());
-        existingProduct.setShippingCost(dto.getShippingCost());
-        existingProduct.setGender(dto.getGender());
-        existingProduct.setSeason(dto.getSeason());
-        existingProduct.setProductVariants(dto.getProductVariants().stream().map(ProductMapper::convertToProductVariant).toList());
-        existingProduct.setDetails(dto.getDetails());
-        existingProduct.setEnabled(dto.getEnabled());
-        existingProduct.setUpdatedDateTime(LocalDateTime.now());
-    }
     public static Product createProductFromDTO(ProductCreateDTO dto) {
         Product product = new Product();
         product.setProductId(UUID.randomUUID().toString());
@@ -129,6 +114,7 @@ public class ProductMapper {
         dto.setRating(product.getRating());
         dto.setEnabled(product.isEnabled());
         dto.setReviewCount(product.getReviewCount());
+        dto.setViewCount(product.getViewCount());
         dto.setShippingCost(product.getShippingCost());
         dto.setProductVariants(product.getProductVariants().stream()
                 .map(ProductMapper::convertToProductVariantDTO)
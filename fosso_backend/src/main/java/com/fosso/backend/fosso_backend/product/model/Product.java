@@ -3,10 +3,13 @@ package com.fosso.backend.fosso_backend.product.model;
 import com.fosso.backend.fosso_backend.common.enums.Gender;
 import com.fosso.backend.fosso_backend.common.enums.Season;
 import com.fosso.backend.fosso_backend.common.interfaces.LoggableEntity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.index.Indexed;
-import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -19,15 +22,14 @@ public class Product implements LoggableEntity {
     @Id
     private String productId;
     @Indexed
-    @TextIndexed
     private String productName;
-    @TextIndexed
     private String shortDescription;
-    @TextIndexed
     private String fullDescription;
     private String merchantId;
     private String brandId;
     private String categoryId;
+    @Indexed
+    private List<String> categoryPath = new ArrayList<>();
     private boolean enabled = true;
     private BigDecimal price = BigDecimal.ZERO;
     private BigDecimal discountPrice = BigDecimal.ZERO;
@@ -36,14 +38,28 @@ public class Product implements LoggableEntity {
     private Season season;
     private List<ProductVariant> productVariants = new ArrayList<>();
     private Integer reviewCount = 0;
+    // detail page views, kept apart from reviewCount, which ProductRatingManager owns
+    private long viewCount;
     private List<String> mainImagesId = new ArrayList<>();
     private List<String> imagesId = new ArrayList<>();
     private Map<String, String> details;
     private Double rating;
+    // maintained by ProductRatingManager, rating is ratingSum / ratingCount
+    private long ratingSum;
+    private int ratingCount;
+    // star ("1".."5") -> number of reviews
+    private Map<String, Integer> ratingHistogram = new HashMap<>();
     private LocalDateTime createdDateTime;
     private LocalDateTime updatedDateTime;
     private boolean isDeleted = false;
 
+    // built on first lookup, dropped whenever the variant list is replaced or appended to
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Map<String, ProductVariant> variantsByKey;
+
     public void setImageId(String imageId) {
         this.imagesId.add(imageId);
     }
@@ -52,6 +68,25 @@ public class Product implements LoggableEntity {
     }
     public void setProductVariant(ProductVariant productVariant) {
         this.productVariants.add(productVariant);
+        this.variantsByKey = null;
+    }
+
+    public void setProductVariants(List<ProductVariant> productVariants) {
+        this.productVariants = productVariants;
+        this.variantsByKey = null;
+    }
+
+    public Optional<ProductVariant> findVariant(String color, String size) {
+        if (variantsByKey == null) {
+            Map<String, ProductVariant> index = new HashMap<>();
+            for (ProductVariant variant : productVariants) {
+                index.putIfAbsent(ProductVariant.lookupKey(ProductVariant.key(variant.getColor()),
+                        ProductVariant.key(variant.getSize())), variant);
+            }
+            variantsByKey = index;
+        }
+        return Optional.ofNullable(variantsByKey.get(
+                ProductVariant.lookupKey(ProductVariant.key(color), ProductVariant.key(size))));
     }
 
     @Override
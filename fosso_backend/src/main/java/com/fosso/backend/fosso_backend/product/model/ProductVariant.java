@@ -1,10 +1,36 @@
 package com.fosso.backend.fosso_backend.product.model;
 
+import com.fosso.backend.fosso_backend.common.utils.SearchKeyUtils;
 import lombok.Data;
+import org.springframework.data.mongodb.core.index.Indexed;
 
 @Data
 public class ProductVariant {
     private String color;
     private String size;
+    // canonical forms for exact, indexable matching; "Navy Blue " and "navy-blue" share a key
+    @Indexed
+    private String colorKey;
+    @Indexed
+    private String sizeKey;
     private int stockQuantity;
-}
\ No newline at end of file
+    private int reservedQuantity;
+
+    public void setColor(String color) {
+        this.color = color;
+        this.colorKey = key(color);
+    }
+
+    public void setSize(String size) {
+        this.size = size;
+        this.sizeKey = key(size);
+    }
+
+    public static String key(String value) {
+        return SearchKeyUtils.normalize(value);
+    }
+
+    public static String lookupKey(String colorKey, String sizeKey) {
+        return colorKey + "|" + sizeKey;
+    }
+}
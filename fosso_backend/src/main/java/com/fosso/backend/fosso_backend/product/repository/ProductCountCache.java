@@ -0,0 +1,116 @@
+package com.fosso.backend.fosso_backend.product.repository;
+
+import com.fosso.backend.fosso_backend.product.dto.ProductFilterCriteria;
+import com.fosso.backend.fosso_backend.product.model.Product;
+import com.fosso.backend.fosso_backend.product.model.ProductVariant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class ProductCountCache {
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    @Value("${app.products.count-cache-ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${app.products.count-cache-max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${app.products.count-cap:10000}")
+    private long countCap;
+
+    public record CachedCount(long total, boolean exact, long expiresAt) {
+    }
+
+    public CachedCount count(ProductFilterCriteria criteria, Supplier<Query> countQuery) {
+        long now = System.currentTimeMillis();
+        String key = cacheKey(criteria);
+
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
+
+        // always the storefront filter, so disabled and deleted products are never counted; the cap bounds the scan
+        CachedCount fresh = cappedCount(countQuery.get(), now);
+
+        store(key, fresh, now);
+        return fresh;
+    }
+
+    // the cached total while it is fresh, or null; lets a caller that counts anyway skip the count stage
+    public CachedCount peek(ProductFilterCriteria criteria) {
+        CachedCount cached = counts.get(cacheKey(criteria));
+        return cached != null && cached.expiresAt() > System.currentTimeMillis() ? cached : null;
+    }
+
+    public long getCountCap() {
+        return countCap;
+    }
+
+    // totals that fell out of a facet aggregation anyway, counted up to countCap + 1 like cappedCount
+    public CachedCount remember(ProductFilterCriteria criteria, long total) {
+        long now = System.currentTimeMillis();
+        CachedCount count = capped(total, now);
+        store(cacheKey(criteria), count, now);
+        return count;
+    }
+
+    private void store(String key, CachedCount count, long now) {
+        if (counts.size() >= maxEntries) {
+            counts.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (counts.size() >= maxEntries) {
+                counts.clear();
+            }
+        }
+        counts.put(key, count);
+    }
+
+    private CachedCount cappedCount(Query query, long now) {
+        // stop counting once we know there are more than countCap matches
+        return capped(mongoTemplate.count(query.limit((int) countCap + 1), Product.class), now);
+    }
+
+    private CachedCount capped(long total, long now) {
+        return total > countCap
+                ? new CachedCount(countCap, false, now + ttlMs)
+                : new CachedCount(total, true, now + ttlMs);
+    }
+
+    // ids are matched exactly, so only the values the query itself folds are normalized here
+    static String cacheKey(ProductFilterCriteria criteria) {
+        return String.join("|",
+                normalizeText(criteria.getKeyword()),
+                nullToEmpty(criteria.getCategoryId()),
+                nullToEmpty(criteria.getBrandId()),
+                criteria.getGender() == null ? "" : criteria.getGender().name(),
+                variantKey(criteria.getColor()),
+                variantKey(criteria.getSize()),
+                criteria.getMinPrice() == null ? "" : criteria.getMinPrice().stripTrailingZeros().toPlainString(),
+                criteria.getMaxPrice() == null ? "" : criteria.getMaxPrice().stripTrailingZeros().toPlainString(),
+                String.valueOf(criteria.isNewIn()));
+    }
+
+    private static String normalizeText(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String variantKey(String value) {
+        return value == null || value.isBlank() ? "" : nullToEmpty(ProductVariant.key(value));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,39 @@
+package com.fosso.backend.fosso_backend.product.repository;
+
+import com.fosso.backend.fosso_backend.product.dto.ProductFacets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ProductFacetCache {
+
+    private final Map<String, CachedFacets> facets = new ConcurrentHashMap<>();
+
+    @Value("${app.products.facet-cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${app.products.facet-cache-max-entries:500}")
+    private int maxEntries;
+
+    private record CachedFacets(ProductFacets facets, long expiresAt) {
+    }
+
+    public ProductFacets get(String key) {
+        CachedFacets cached = facets.get(key);
+        return cached != null && cached.expiresAt() > System.currentTimeMillis() ? cached.facets() : null;
+    }
+
+    public void put(String key, ProductFacets value) {
+        long now = System.currentTimeMillis();
+        if (facets.size() >= maxEntries) {
+            facets.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (facets.size() >= maxEntries) {
+                facets.clear();
+            }
+        }
+        facets.put(key, new CachedFacets(value, now + ttlMs));
+    }
+}
@@ -0,0 +1,94 @@
+package com.fosso.backend.fosso_backend.product.repository;
+
+import com.fosso.backend.fosso_backend.product.model.Product;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// indexes for the storefront query shapes built by ProductRepositoryCustomImpl.buildQuery;
+// every storefront query carries enabled:true and isDeleted:false, so those indexes can be partial
+@Component
+@RequiredArgsConstructor
+public class ProductIndexCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductIndexCatalog.class);
+    // only indexes with this prefix are managed here, annotation indexes are left alone
+    private static final String PREFIX = "catalog_";
+
+    private final MongoTemplate mongoTemplate;
+
+    public List<Index> indexes() {
+        return List.of(
+                // default listing and keyset pagination on createdDateTime
+                storefront("catalog_live_created")
+                        .on("createdDateTime", Sort.Direction.DESC).on("_id", Sort.Direction.DESC),
+                storefront("catalog_live_price")
+                        .on("price", Sort.Direction.ASC).on("_id", Sort.Direction.ASC),
+                storefront("catalog_live_name")
+                        .on("productName", Sort.Direction.ASC).on("_id", Sort.Direction.ASC),
+                // equality filter first, then the sort, then the price range
+                storefront("catalog_live_category_created")
+                        .on("categoryPath", Sort.Direction.ASC).on("createdDateTime", Sort.Direction.DESC)
+                        .on("price", Sort.Direction.ASC),
+                storefront("catalog_live_category_price")
+                        .on("categoryPath", Sort.Direction.ASC).on("price", Sort.Direction.ASC),
+                storefront("catalog_live_brand_created")
+                        .on("brandId", Sort.Direction.ASC).on("createdDateTime", Sort.Direction.DESC)
+                        .on("price", Sort.Direction.ASC),
+                storefront("catalog_live_gender_created")
+                        .on("gender", Sort.Direction.ASC).on("createdDateTime", Sort.Direction.DESC)
+                        .on("price", Sort.Direction.ASC),
+                storefront("catalog_live_color_created")
+                        .on("productVariants.colorKey", Sort.Direction.ASC).on("createdDateTime", Sort.Direction.DESC),
+                // merchant and admin listings see disabled and deleted products too
+                new Index().named("catalog_merchant_deleted")
+                        .on("merchantId", Sort.Direction.ASC).on("isDeleted", Sort.Direction.ASC),
+                new Index().named("catalog_brand")
+                        .on("brandId", Sort.Direction.ASC));
+    }
+
+    @PostConstruct
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Product.class);
+        List<Index> catalog = indexes();
+        Set<String> names = catalog.stream()
+                .map(index -> index.getIndexOptions().getString("name"))
+                .collect(Collectors.toSet());
+
+        for (IndexInfo existing : indexOps.getIndexInfo()) {
+            if (existing.getName().startsWith(PREFIX) && !names.contains(existing.getName())) {
+                indexOps.dropIndex(existing.getName());
+                logger.info("Dropped retired product index {}", existing.getName());
+            }
+        }
+
+        for (Index index : catalog) {
+            try {
+                indexOps.ensureIndex(index);
+            } catch (DataAccessException e) {
+                // usually a changed definition under an existing name; drop it by hand to let it be rebuilt
+                logger.warn("Could not ensure product index {}: {}",
+                        index.getIndexOptions().getString("name"), e.getMessage());
+            }
+        }
+    }
+
+    private static Index storefront(String name) {
+        return new Index().named(name)
+                .partial(PartialIndexFilter.of(Criteria.where("enabled").is(true).and("isDeleted").is(false)));
+    }
+}
@@ -7,9 +7,16 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ProductRepository extends MongoRepository<Product, String>, ProductRepositoryCustom {
     //user
+    // only what a cart line renders
+    @Query(value = "{'_id': {'$in': ?0}}",
+            fields = "{'productName': 1, 'brandId': 1, 'mainImagesId': 1, 'price': 1, 'discountPrice': 1}")
+    List<Product> findCartViewsByIdIn(Collection<String> productIds);
 
     //merchant
     Page<Product> findByMerchantIdAndIsDeletedFalse(String merchantId, Pageable pageable);
@@ -20,7 +27,4 @@ public interface ProductRepository extends MongoRepository<Product, String>, Pro
     Page<Product> findByEnabledFalse(Pageable pageable);
 
     Page<Product> findByIsDeletedTrue(Pageable pageable);
-
-    @Query("{'$text': {'$search': ?0}}")
-    Page<Product> findByKeyword(String keyword, Pageable pageable);
 }
\ No newline at end of file
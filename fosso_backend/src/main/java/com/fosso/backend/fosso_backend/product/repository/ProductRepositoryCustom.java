@@ -1,10 +1,31 @@
 package com.fosso.backend.fosso_backend.product.repository;
 
+import com.fosso.backend.fosso_backend.product.dto.ProductCursor;
+import com.fosso.backend.fosso_backend.product.dto.ProductFacetPage;
 import com.fosso.backend.fosso_backend.product.dto.ProductFilterCriteria;
+import com.fosso.backend.fosso_backend.product.dto.ProductUpdateDTO;
 import com.fosso.backend.fosso_backend.product.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 public interface ProductRepositoryCustom {
     Page<Product> findByDynamicCriteria(ProductFilterCriteria criteria, Pageable pageable);
+    ProductFacetPage findByDynamicCriteriaWithFacets(ProductFilterCriteria criteria, Pageable pageable);
+    List<Product> findByDynamicCriteriaAfter(ProductFilterCriteria criteria, ProductCursor after,
+                                             String sortField, Sort.Direction direction, int limit);
+    void updateCategoryPaths(Map<String, List<String>> pathsByCategoryId);
+    Product applyEdit(Product existing, ProductUpdateDTO edit, List<String> categoryPath);
+    boolean updatePrice(String productId, BigDecimal price, BigDecimal discountPrice);
+    boolean updateEnabled(String productId, boolean enabled);
+    boolean updateDeleted(String productId, boolean deleted);
+    boolean incrementViewCount(String productId);
+    boolean addImageId(String productId, String imageId);
+    boolean removeImageId(String productId, String imageId);
+    boolean addMainImageId(String productId, String imageId);
+    boolean removeMainImageId(String productId, String imageId);
 }
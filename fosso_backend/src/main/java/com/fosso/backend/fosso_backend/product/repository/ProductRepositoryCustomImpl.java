@@ -1,20 +1,40 @@
 package com.fosso.backend.fosso_backend.product.repository;
 
+import com.fosso.backend.fosso_backend.brand.model.Brand;
+import com.fosso.backend.fosso_backend.common.utils.EstimatedPage;
+import com.fosso.backend.fosso_backend.product.dto.FacetBucket;
+import com.fosso.backend.fosso_backend.product.dto.ProductCursor;
+import com.fosso.backend.fosso_backend.product.dto.ProductFacetPage;
+import com.fosso.backend.fosso_backend.product.dto.ProductFacets;
 import com.fosso.backend.fosso_backend.product.dto.ProductFilterCriteria;
+import com.fosso.backend.fosso_backend.product.dto.ProductUpdateDTO;
+import com.fosso.backend.fosso_backend.product.dto.ProductVariantDTO;
 import com.fosso.backend.fosso_backend.product.model.Product;
+import com.fosso.backend.fosso_backend.product.mapper.ProductMapper;
+import com.fosso.backend.fosso_backend.product.model.ProductVariant;
+import com.fosso.backend.fosso_backend.search.service.ProductSearchService;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.fosso.backend.fosso_backend.common.utils.FilterUtils.hasValue;
 
@@ -23,25 +43,280 @@ import static com.fosso.backend.fosso_backend.common.utils.FilterUtils.hasValue;
 public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
 
     private final MongoTemplate mongoTemplate;
+    private final ProductCountCache productCountCache;
+    private final ProductFacetCache productFacetCache;
+    private final ProductSearchService productSearchService;
+
+    @Value("${app.search.max-candidates:1000}")
+    private int maxSearchCandidates;
+
+    @Value("${app.products.facet-limit:20}")
+    private int facetLimit;
+
+    @Value("${app.products.price-buckets:0,25,50,100,200,500}")
+    private List<Integer> priceBoundaries;
 
     @Override
     public Page<Product> findByDynamicCriteria(ProductFilterCriteria criteria, Pageable pageable) {
+        List<String> rankedIds = rankedIds(criteria);
+        ProductCountCache.CachedCount count = productCountCache.count(criteria,
+                () -> buildQuery(criteria, rankedIds, List.of()));
+
+        List<Product> products;
+        if (isRelevanceOrder(criteria, pageable)) {
+            Query query = buildQuery(criteria, rankedIds, List.of());
+            List<Document> pipeline = new ArrayList<>();
+            pipeline.add(new Document("$match", new QueryMapper(mongoTemplate.getConverter()).getMappedObject(
+                    query.getQueryObject(), mongoTemplate.getConverter().getMappingContext().getPersistentEntity(Product.class))));
+            pipeline.addAll(relevanceOrder(rankedIds));
+            pipeline.add(new Document("$skip", pageable.getOffset()));
+            pipeline.add(new Document("$limit", pageable.getPageSize()));
+            products = new ArrayList<>();
+            for (Document item : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class)).aggregate(pipeline)) {
+                products.add(mongoTemplate.getConverter().read(Product.class, item));
+            }
+        } else {
+            Query query = buildQuery(criteria, rankedIds, List.of())
+                    .with(withIdTiebreak(pageable.getSort()))
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize());
+            products = mongoTemplate.find(query, Product.class);
+        }
+
+        return new EstimatedPage<>(products, pageable, count.total(), count.exact());
+    }
+
+    @Override
+    public ProductFacetPage findByDynamicCriteriaWithFacets(ProductFilterCriteria criteria, Pageable pageable) {
+        String key = ProductCountCache.cacheKey(criteria);
+        ProductFacets cachedFacets = productFacetCache.get(key);
+        ProductCountCache.CachedCount cachedCount = productCountCache.peek(criteria);
+
+        // the page, plus whichever of total and facets is not cached, in one round trip; facets count within the current filter
+        List<String> rankedIds = rankedIds(criteria);
+        Query query = buildQuery(criteria, rankedIds, List.of());
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getPersistentEntity(Product.class);
+
+        List<Document> items = new ArrayList<>();
+        if (isRelevanceOrder(criteria, pageable)) {
+            items.addAll(relevanceOrder(rankedIds));
+        } else {
+            items.add(new Document("$sort", queryMapper.getMappedSort(
+                    new Query().with(withIdTiebreak(pageable.getSort())).getSortObject(), entity)));
+        }
+        items.add(new Document("$skip", pageable.getOffset()));
+        items.add(new Document("$limit", pageable.getPageSize()));
+
+        Document facetStages = new Document("items", items);
+        if (cachedCount == null) {
+            facetStages.append("total", List.of(
+                    new Document("$limit", productCountCache.getCountCap() + 1),
+                    new Document("$count", "count")));
+        }
+        if (cachedFacets == null) {
+            facetStages
+                    .append("brands", valueFacet("$brandId"))
+                    .append("colors", variantFacet("colorKey", "color"))
+                    .append("sizes", variantFacet("sizeKey", "size"))
+                    .append("genders", valueFacet("$gender"))
+                    .append("seasons", valueFacet("$season"))
+                    .append("priceRanges", List.of(new Document("$bucket", new Document()
+                            .append("groupBy", "$price")
+                            .append("boundaries", priceBoundaries)
+                            .append("default", "other")
+                            .append("output", new Document("count", new Document("$sum", 1))))));
+        }
+
+        List<Document> pipeline = List.of(
+                new Document("$match", queryMapper.getMappedObject(query.getQueryObject(), entity)),
+                new Document("$facet", facetStages));
+
+        Document result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class))
+                .aggregate(pipeline)
+                .allowDiskUse(true)
+                .first();
+
+        List<Product> products = new ArrayList<>();
+        if (result != null) {
+            for (Document item : result.getList("items", Document.class)) {
+                products.add(mongoTemplate.getConverter().read(Product.class, item));
+            }
+        }
+
+        ProductCountCache.CachedCount count = cachedCount;
+        if (count == null) {
+            long total = 0;
+            if (result != null) {
+                List<Document> totals = result.getList("total", Document.class);
+                if (!totals.isEmpty()) {
+                    total = ((Number) totals.getFirst().get("count")).longValue();
+                }
+            }
+            count = productCountCache.remember(criteria, total);
+        }
+
+        ProductFacets facets = cachedFacets;
+        if (facets == null) {
+            facets = new ProductFacets();
+            if (result != null) {
+                facets.setBrands(brandBuckets(result.getList("brands", Document.class)));
+                facets.setColors(valueBuckets(result.getList("colors", Document.class)));
+                facets.setSizes(valueBuckets(result.getList("sizes", Document.class)));
+                facets.setGenders(valueBuckets(result.getList("genders", Document.class)));
+                facets.setSeasons(valueBuckets(result.getList("seasons", Document.class)));
+                facets.setPriceRanges(priceBuckets(result.getList("priceRanges", Document.class)));
+            }
+            productFacetCache.put(key, facets);
+        }
+
+        return new ProductFacetPage(new EstimatedPage<>(products, pageable, count.total(), count.exact()), facets);
+    }
+
+    private boolean isRelevanceOrder(ProductFilterCriteria criteria, Pageable pageable) {
+        return pageable.getSort().isUnsorted() && hasValue(criteria.getKeyword());
+    }
+
+    // searched once per request, then shared by the $in filter and the relevance sort
+    private List<String> rankedIds(ProductFilterCriteria criteria) {
+        return hasValue(criteria.getKeyword())
+                ? productSearchService.search(criteria.getKeyword(), maxSearchCandidates)
+                : List.of();
+    }
+
+    // _id breaks ties so pages neither repeat nor skip products that share a sort value
+    private Sort withIdTiebreak(Sort sort) {
+        return sort.getOrderFor("_id") == null && sort.getOrderFor("productId") == null
+                ? sort.and(Sort.by("_id"))
+                : sort;
+    }
+
+    // orders matches by their position in the BM25 ranking; the ranking only holds the best max-candidates ids
+    private List<Document> relevanceOrder(List<String> rankedIds) {
+        return List.of(
+                new Document("$addFields", new Document("searchRank",
+                        new Document("$indexOfArray", List.of(rankedIds, "$_id")))),
+                new Document("$sort", new Document("searchRank", 1).append("_id", 1)));
+    }
+
+    private List<Document> valueFacet(String field) {
+        return List.of(
+                new Document("$sortByCount", field),
+                new Document("$limit", facetLimit));
+    }
+
+    // grouped on the canonical key so the counts line up with the color/size filters;
+    // a product counts once per distinct key, labelled with one of its spellings
+    private List<Document> variantFacet(String keyField, String labelField) {
+        return List.of(
+                new Document("$unwind", "$productVariants"),
+                new Document("$group", new Document()
+                        .append("_id", new Document("value", "$productVariants." + keyField).append("product", "$_id"))
+                        .append("label", new Document("$first", "$productVariants." + labelField))),
+                new Document("$group", new Document()
+                        .append("_id", "$_id.value")
+                        .append("label", new Document("$first", "$label"))
+                        .append("count", new Document("$sum", 1))),
+                new Document("$sort", new Document("count", -1).append("_id", 1)),
+                new Document("$limit", facetLimit));
+    }
+
+    private List<FacetBucket> valueBuckets(List<Document> documents) {
+        List<FacetBucket> buckets = new ArrayList<>();
+        for (Document document : documents) {
+            Object value = document.get("_id");
+            if (value != null && !value.toString().isBlank()) {
+                Object label = document.get("label");
+                buckets.add(new FacetBucket(value.toString(), label != null ? label.toString() : value.toString(),
+                        ((Number) document.get("count")).longValue()));
+            }
+        }
+        return buckets;
+    }
+
+    private List<FacetBucket> brandBuckets(List<Document> documents) {
+        List<FacetBucket> buckets = valueBuckets(documents);
+        if (buckets.isEmpty()) {
+            return buckets;
+        }
+        Query brandQuery = new Query(Criteria.where("_id").in(buckets.stream().map(FacetBucket::getValue).toList()));
+        brandQuery.fields().include("name");
+        Map<String, String> names = new HashMap<>();
+        mongoTemplate.find(brandQuery, Brand.class).forEach(brand -> names.put(brand.getBrandId(), brand.getName()));
+        buckets.forEach(bucket -> bucket.setLabel(names.getOrDefault(bucket.getValue(), bucket.getValue())));
+        return buckets;
+    }
+
+    // $bucket ids are the lower boundaries; everything past the last boundary lands in "other"
+    private List<FacetBucket> priceBuckets(List<Document> documents) {
+        List<FacetBucket> buckets = new ArrayList<>();
+        for (Document document : documents) {
+            Object lower = document.get("_id");
+            long count = ((Number) document.get("count")).longValue();
+            if ("other".equals(lower)) {
+                String from = String.valueOf(priceBoundaries.getLast());
+                buckets.add(new FacetBucket(from + "-", from + "+", count));
+                continue;
+            }
+            int index = priceBoundaries.indexOf(((Number) lower).intValue());
+            String from = String.valueOf(priceBoundaries.get(index));
+            String to = String.valueOf(priceBoundaries.get(index + 1));
+            buckets.add(new FacetBucket(from + "-" + to, from + " - " + to, count));
+        }
+        return buckets;
+    }
+
+    @Override
+    public List<Product> findByDynamicCriteriaAfter(ProductFilterCriteria criteria, ProductCursor after,
+                                                    String sortField, Sort.Direction direction, int limit) {
+        List<Criteria> keysetCriteria = new ArrayList<>();
+        if (after != null) {
+            Object sortValue = after.typedSortValue();
+            boolean ascending = direction.isAscending();
+            Criteria sameValueBeyondId = ascending
+                    ? Criteria.where(sortField).is(sortValue).and("_id").gt(after.getProductId())
+                    : Criteria.where(sortField).is(sortValue).and("_id").lt(after.getProductId());
+            // nulls and missing values sort before everything else, and $gt/$lt never match them
+            List<Criteria> beyond = new ArrayList<>(List.of(sameValueBeyondId));
+            if (sortValue != null) {
+                beyond.add(ascending ? Criteria.where(sortField).gt(sortValue) : Criteria.where(sortField).lt(sortValue));
+            }
+            if (ascending && sortValue == null) {
+                beyond.add(Criteria.where(sortField).ne(null));
+            } else if (!ascending && sortValue != null) {
+                beyond.add(Criteria.where(sortField).is(null));
+            }
+            keysetCriteria.add(new Criteria().orOperator(beyond));
+        }
+
+        Query query = buildQuery(criteria, rankedIds(criteria), keysetCriteria)
+                .with(Sort.by(direction, sortField, "_id"))
+                .limit(limit);
+
+        return mongoTemplate.find(query, Product.class);
+    }
+
+    private Query buildQuery(ProductFilterCriteria criteria, List<String> rankedIds, List<Criteria> extraCriteria) {
         Query query = new Query();
 
-        List<Criteria> filterCriterias = new ArrayList<>();
+        List<Criteria> filterCriterias = new ArrayList<>(extraCriteria);
 
         // base conditions
         filterCriterias.add(Criteria.where("enabled").is(true));
         filterCriterias.add(Criteria.where("isDeleted").is(false));
 
-        // Full-text search
+        // Full-text search, resolved against the in-memory index and narrowed to the best candidates
         if (hasValue(criteria.getKeyword())) {
-            query.addCriteria(TextCriteria.forDefaultLanguage().matching(criteria.getKeyword()));
+            filterCriterias.add(Criteria.where("_id").in(rankedIds));
         }
 
         // Category filter
-        if (hasValue(criteria.getCategoryIds())) {
-            filterCriterias.add(Criteria.where("categoryId").in(criteria.getCategoryIds()));
+        if (hasValue(criteria.getCategoryId())) {
+            filterCriterias.add(Criteria.where("categoryPath").is(criteria.getCategoryId()));
+            // a disabled subcategory sits on the path of every product below it, so a short $nin hides the branch
+            if (hasValue(criteria.getExcludedCategoryIds())) {
+                filterCriterias.add(Criteria.where("categoryPath").nin(criteria.getExcludedCategoryIds()));
+            }
         }
 
         // Brand filter
@@ -54,9 +329,16 @@ public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
             filterCriterias.add(Criteria.where("gender").is(criteria.getGender()));
         }
 
-        // Color filter
-        if (hasValue(criteria.getColor())) {
-            filterCriterias.add(Criteria.where("productVariants.color").regex(criteria.getColor(), "i"));
+        // Color and size filters, exact matches on the canonical variant keys
+        if (hasValue(criteria.getColor()) && hasValue(criteria.getSize())) {
+            // both on the same variant, not a red S next to a blue M
+            filterCriterias.add(Criteria.where("productVariants").elemMatch(
+                    Criteria.where("colorKey").is(ProductVariant.key(criteria.getColor()))
+                            .and("sizeKey").is(ProductVariant.key(criteria.getSize()))));
+        } else if (hasValue(criteria.getColor())) {
+            filterCriterias.add(Criteria.where("productVariants.colorKey").is(ProductVariant.key(criteria.getColor())));
+        } else if (hasValue(criteria.getSize())) {
+            filterCriterias.add(Criteria.where("productVariants.sizeKey").is(ProductVariant.key(criteria.getSize())));
         }
 
         // Price filter
@@ -81,12 +363,136 @@ public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
             query.addCriteria(new Criteria().andOperator(filterCriterias.toArray(new Criteria[0])));
         }
 
-        long total = mongoTemplate.count(query, Product.class);
+        return query;
+    }
+
+    @Override
+    public void updateCategoryPaths(Map<String, List<String>> pathsByCategoryId) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        pathsByCategoryId.forEach((categoryId, path) ->
+                bulkOps.updateMulti(new Query(Criteria.where("categoryId").is(categoryId)),
+                        new Update().set("categoryPath", path)));
+        bulkOps.execute();
+    }
+
+    // Stock and reserved counters move under concurrent checkout and holds, so the edit never writes back the
+    // loaded values: stock changes are applied as deltas, reservedQuantity and the rating counters are left alone.
+    @Override
+    public Product applyEdit(Product existing, ProductUpdateDTO edit, List<String> categoryPath) {
+        Query byId = new Query(Criteria.where("_id").is(existing.getProductId()));
+
+        Map<String, ProductVariant> loaded = new LinkedHashMap<>();
+        for (ProductVariant variant : existing.getProductVariants()) {
+            loaded.putIfAbsent(variant.getColor() + "|" + variant.getSize(), variant);
+        }
+        Map<String, ProductVariantDTO> edited = new LinkedHashMap<>();
+        for (ProductVariantDTO variant : edit.getProductVariants()) {
+            edited.put(variant.getColor() + "|" + variant.getSize(), variant);
+        }
+
+        Update update = new Update()
+                .set("productName", edit.getProductName())
+                .set("shortDescription", edit.getShortDescription())
+                .set("fullDescription", edit.getFullDescription())
+                .set("categoryId", edit.getCategoryId())
+                .set("categoryPath", categoryPath)
+                .set("brandId", edit.getBrandId())
+                .set("price", edit.getPrice())
+                .set("discountPrice", edit.getDiscountPrice())
+                .set("shippingCost", edit.getShippingCost())
+                .set("gender", edit.getGender())
+                .set("season", edit.getSeason())
+                .set("details", edit.getDetails())
+                .set("updatedDateTime", LocalDateTime.now());
+        if (edit.getEnabled() != null) {
+            update.set("enabled", edit.getEnabled());
+        }
+        int filter = 0;
+        for (Map.Entry<String, ProductVariantDTO> entry : edited.entrySet()) {
+            ProductVariant current = loaded.get(entry.getKey());
+            if (current == null) {
+                continue;
+            }
+            int delta = entry.getValue().getStockQuantity() - current.getStockQuantity();
+            if (delta != 0) {
+                String name = "v" + filter++;
+                update.inc("productVariants.$[" + name + "].stockQuantity", delta)
+                        .filterArray(Criteria.where(name + ".color").is(current.getColor())
+                                .and(name + ".size").is(current.getSize()));
+            }
+        }
+        mongoTemplate.updateFirst(byId, update, Product.class);
+
+        // $pull and $push cannot share an update with the per-variant paths above
+        List<ProductVariant> removed = loaded.entrySet().stream()
+                .filter(entry -> !edited.containsKey(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        if (!removed.isEmpty()) {
+            Document anyRemoved = new Document("$or", removed.stream()
+                    .map(variant -> new Document("color", variant.getColor()).append("size", variant.getSize()))
+                    .toList());
+            mongoTemplate.updateFirst(byId, new Update().pull("productVariants", anyRemoved), Product.class);
+        }
+        List<ProductVariant> added = edited.entrySet().stream()
+                .filter(entry -> !loaded.containsKey(entry.getKey()))
+                .map(entry -> ProductMapper.convertToProductVariant(entry.getValue()))
+                .toList();
+        if (!added.isEmpty()) {
+            mongoTemplate.updateFirst(byId, new Update().push("productVariants").each(added.toArray()), Product.class);
+        }
+
+        Product updated = mongoTemplate.findOne(byId, Product.class);
+        if (updated != null) {
+            productSearchService.index(updated);
+        }
+        return updated;
+    }
+
+    // Single-field writes. Saving the loaded document would put back stock and reserved counts that
+    // ProductStockManager changed in the meantime.
+    @Override
+    public boolean updatePrice(String productId, BigDecimal price, BigDecimal discountPrice) {
+        return updateById(productId, new Update().set("price", price).set("discountPrice", discountPrice));
+    }
+
+    @Override
+    public boolean updateEnabled(String productId, boolean enabled) {
+        return updateById(productId, new Update().set("enabled", enabled));
+    }
+
+    @Override
+    public boolean updateDeleted(String productId, boolean deleted) {
+        return updateById(productId, new Update().set("isDeleted", deleted));
+    }
+
+    @Override
+    public boolean incrementViewCount(String productId) {
+        return updateById(productId, new Update().inc("viewCount", 1));
+    }
 
-        query.with(pageable);
+    @Override
+    public boolean addImageId(String productId, String imageId) {
+        return updateById(productId, new Update().push("imagesId", imageId));
+    }
 
-        List<Product> products = mongoTemplate.find(query, Product.class);
+    @Override
+    public boolean removeImageId(String productId, String imageId) {
+        return updateById(productId, new Update().pull("imagesId", imageId));
+    }
+
+    @Override
+    public boolean addMainImageId(String productId, String imageId) {
+        return updateById(productId, new Update().push("mainImagesId", imageId));
+    }
+
+    @Override
+    public boolean removeMainImageId(String productId, String imageId) {
+        return updateById(productId, new Update().pull("mainImagesId", imageId));
+    }
 
-        return new PageImpl<>(products, pageable, total);
+    private boolean updateById(String productId, Update update) {
+        return mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(productId)), update, Product.class)
+                .getMatchedCount() == 1;
     }
 }
@@ -1,25 +1,40 @@
 package com.fosso.backend.fosso_backend.product.service;
 
 import com.fosso.backend.fosso_backend.product.dto.ProductCreateDTO;
+import com.fosso.backend.fosso_backend.product.dto.ProductFacetPage;
 import com.fosso.backend.fosso_backend.product.dto.ProductFilterCriteria;
+import com.fosso.backend.fosso_backend.product.dto.ProductScrollResult;
 import com.fosso.backend.fosso_backend.product.dto.ProductUpdateDTO;
+import com.fosso.backend.fosso_backend.product.dto.StockAdjustment;
 import com.fosso.backend.fosso_backend.product.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 
 public interface ProductService {
     Product saveProduct(ProductCreateDTO product);
     Product getProductById(String productId);
+    List<Product> getProductsByIds(Collection<String> productIds);
+    List<Product> getCartViewsByIds(Collection<String> productIds);
     Product updateProduct(String productId, ProductUpdateDTO product);
-    Product updateProduct(Product product);
+    void decrementStock(List<StockAdjustment> adjustments);
+    void incrementStock(List<StockAdjustment> adjustments);
+    boolean reserveStock(StockAdjustment adjustment);
+    void releaseReservedStock(StockAdjustment adjustment);
+    void commitReservedStock(StockAdjustment adjustment);
     String updateProductPrice(String productId, BigDecimal price, BigDecimal discountPrice);
     String deleteProduct(String productId);
     String updateProductEnabledStatus(String productId, boolean enabled);
     Page<Product> getFilteredProducts(ProductFilterCriteria criteria, Pageable pageable);
+    ProductFacetPage getFilteredProductsWithFacets(ProductFilterCriteria criteria, Pageable pageable);
+    ProductScrollResult getFilteredProductsAfter(ProductFilterCriteria criteria, String after, String[] sort, int size);
     Page<Product> getMarchantProducts(Pageable pageable);
     Product getMarchantProductsById(String productId);
-    String incrementReviewCount(String productId);
+    String incrementViewCount(String productId);
+    void updateCategoryPaths(Map<String, List<String>> pathsByCategoryId);
 }
@@ -5,16 +5,28 @@ import com.fosso.backend.fosso_backend.common.exception.ResourceNotFoundExceptio
 import com.fosso.backend.fosso_backend.product.model.Product;
 import com.fosso.backend.fosso_backend.product.repository.ProductRepository;
 import com.fosso.backend.fosso_backend.product.service.admin.AdminProductService;
+import com.fosso.backend.fosso_backend.search.service.ProductSearchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class AdminProductServiceImpl implements AdminProductService {
 
     private final ProductRepository productRepository;
+    private final ProductSearchService productSearchService;
+
+    @Value("${app.search.max-candidates:1000}")
+    private int maxSearchCandidates;
 
     @Override
     @Loggable(action = "DELETE", entity = "Product", message = "Deleted product")
@@ -45,7 +57,7 @@ public class AdminProductServiceImpl implements AdminProductService {
     @Override
     public Page<Product> listProducts(String keyword, Pageable pageable) {
         if (keyword != null && !keyword.isEmpty()) {
-            return productRepository.findByKeyword(keyword, pageable);
+            return searchProducts(keyword, pageable);
         }
         return productRepository.findAll(pageable);
     }
@@ -59,8 +71,7 @@ public class AdminProductServiceImpl implements AdminProductService {
             throw new IllegalStateException("Product is not deleted");
         }
 
-        product.setDeleted(false);
-        productRepository.save(product);
+        productRepository.updateDeleted(productId, false);
 
         return "Product restored successfully";
     }
@@ -76,10 +87,28 @@ public class AdminProductServiceImpl implements AdminProductService {
     @Override
     @Loggable(action = "UPDATE", entity = "Product", message = "Updated product enabled status")
     public String updateProductEnabledStatus(String productId, boolean enabled) {
-        Product product = productRepository.findById(productId).orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
-        product.setEnabled(enabled);
-        productRepository.save(product);
+        if (!productRepository.updateEnabled(productId, enabled)) {
+            throw new ResourceNotFoundException("Product not found with ID: " + productId);
+        }
 
         return enabled ? "Product enabled successfully" : "Product disabled successfully";
     }
-}
\ No newline at end of file
+
+    // keyword results come back in relevance order, the requested sort only applies to plain listings
+    private Page<Product> searchProducts(String keyword, Pageable pageable) {
+        List<String> rankedIds = productSearchService.search(keyword, maxSearchCandidates);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<String> pageIds = rankedIds.subList(from, to);
+
+        Map<String, Integer> rank = new HashMap<>();
+        for (int i = 0; i < pageIds.size(); i++) {
+            rank.put(pageIds.get(i), i);
+        }
+        List<Product> products = productRepository.findAllById(pageIds).stream()
+                .sorted(Comparator.comparingInt(product -> rank.get(product.getProductId())))
+                .toList();
+
+        return new PageImpl<>(products, pageable, rankedIds.size());
+    }
+}
@@ -0,0 +1,63 @@
+package com.fosso.backend.fosso_backend.product.service.impl;
+
+import com.fosso.backend.fosso_backend.product.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ProductRatingManager {
+
+    private final MongoTemplate mongoTemplate;
+
+    // a rating of 0 means "no review": 0 -> 4 is a new review, 4 -> 0 a deleted one, 2 -> 5 an edit.
+    // One pipeline update applies the increments and recomputes the average atomically, without reading reviews.
+    public void applyRatingChange(String productId, int previousRating, int newRating) {
+        if (previousRating < 0 || previousRating > 5 || newRating < 0 || newRating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        if (previousRating == newRating) {
+            return;
+        }
+        int countDelta = (newRating > 0 ? 1 : 0) - (previousRating > 0 ? 1 : 0);
+
+        Document increments = new Document()
+                .append("ratingSum", increment("ratingSum", newRating - previousRating))
+                .append("ratingCount", increment("ratingCount", countDelta))
+                .append("reviewCount", increment("reviewCount", countDelta));
+        if (previousRating > 0) {
+            increments.append(histogramField(previousRating), increment(histogramField(previousRating), -1));
+        }
+        if (newRating > 0) {
+            increments.append(histogramField(newRating), increment(histogramField(newRating), 1));
+        }
+
+        List<Document> pipeline = new ArrayList<>();
+        pipeline.add(new Document("$set", increments));
+        pipeline.add(new Document("$set", new Document("rating", new Document("$cond", List.of(
+                new Document("$gt", List.of("$ratingCount", 0)),
+                new Document("$divide", List.of("$ratingSum", "$ratingCount")),
+                0.0)))));
+
+        Document filter = new QueryMapper(mongoTemplate.getConverter()).getMappedObject(
+                new Query(Criteria.where("_id").is(productId)).getQueryObject(),
+                mongoTemplate.getConverter().getMappingContext().getPersistentEntity(Product.class));
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class)).updateOne(filter, pipeline);
+    }
+
+    public static String histogramField(int rating) {
+        return "ratingHistogram." + rating;
+    }
+
+    private static Document increment(String field, int delta) {
+        return new Document("$add", List.of(new Document("$ifNull", List.of("$" + field, 0)), delta));
+    }
+}
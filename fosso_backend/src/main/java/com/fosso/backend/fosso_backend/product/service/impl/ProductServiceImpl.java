@@ -1,12 +1,15 @@
 package com.fosso.backend.fosso_backend.product.service.impl;
 
-import com.fosso.backend.fosso_backend.category.model.Category;
 import com.fosso.backend.fosso_backend.category.service.CategoryService;
 import com.fosso.backend.fosso_backend.common.aop.Loggable;
 import com.fosso.backend.fosso_backend.common.enums.Role;
 import com.fosso.backend.fosso_backend.product.dto.ProductCreateDTO;
+import com.fosso.backend.fosso_backend.product.dto.ProductCursor;
+import com.fosso.backend.fosso_backend.product.dto.ProductFacetPage;
 import com.fosso.backend.fosso_backend.product.dto.ProductFilterCriteria;
+import com.fosso.backend.fosso_backend.product.dto.ProductScrollResult;
 import com.fosso.backend.fosso_backend.product.dto.ProductUpdateDTO;
+import com.fosso.backend.fosso_backend.product.dto.StockAdjustment;
 import com.fosso.backend.fosso_backend.common.exception.ResourceNotFoundException;
 import com.fosso.backend.fosso_backend.common.exception.UnauthorizedException;
 import com.fosso.backend.fosso_backend.product.mapper.ProductMapper;
@@ -18,12 +21,14 @@ import com.fosso.backend.fosso_backend.product.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -31,15 +36,17 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final AuthenticatedUserProvider userProvider;
     private final CategoryService categoryService;
+    private final ProductStockManager stockManager;
 
     @Override
     @Loggable(action = "CREATE", entity = "Product", message = "Created a new product")
     public Product saveProduct(ProductCreateDTO product) {
-        User currentUser = userProvider.getAuthenticatedUser();
-        if (!currentUser.getUserId().equals(product.getMerchantId())) {
+        String currentUserId = userProvider.getAuthenticatedUserId();
+        if (!currentUserId.equals(product.getMerchantId())) {
             throw new UnauthorizedException("You do not have permission to create this product");
         }
         Product newProduct = ProductMapper.createProductFromDTO(product);
+        newProduct.setCategoryPath(categoryService.getCategoryPath(newProduct.getCategoryId()));
         newProduct.setCreatedDateTime(LocalDateTime.now());
         newProduct.setUpdatedDateTime(LocalDateTime.now());
 
@@ -52,43 +59,67 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
     }
 
+    @Override
+    public List<Product> getProductsByIds(Collection<String> productIds) {
+        return productRepository.findAllById(productIds);
+    }
+
+    @Override
+    public List<Product> getCartViewsByIds(Collection<String> productIds) {
+        return productRepository.findCartViewsByIdIn(productIds);
+    }
+
     @Override
     @Loggable(action = "UPDATE", entity = "Product", message = "Updated Product Details")
     public Product updateProduct(String productId, ProductUpdateDTO product) {
-        User currentUser = userProvider.getAuthenticatedUser();
-
-        boolean isAdmin = currentUser.getRoles().contains(Role.ADMIN);
-        boolean isOwner = currentUser.getUserId().equals(product.getMerchantId());
+        boolean isAdmin = userProvider.hasRole(Role.ADMIN);
+        boolean isOwner = userProvider.getAuthenticatedUserId().equals(product.getMerchantId());
 
         if (!(isAdmin || (isOwner))) {
             throw new UnauthorizedException("You do not have permission to update this product");
         }
         Product existingProduct = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
-        ProductMapper.updateProductFromDTO(existingProduct, product);
+        return productRepository.applyEdit(existingProduct, product, categoryService.getCategoryPath(product.getCategoryId()));
+    }
+
+    @Override
+    public void decrementStock(List<StockAdjustment> adjustments) {
+        stockManager.decrementStock(adjustments);
+    }
+
+    @Override
+    public void incrementStock(List<StockAdjustment> adjustments) {
+        stockManager.incrementStock(adjustments);
+    }
 
-        return productRepository.save(existingProduct);
+    @Override
+    public boolean reserveStock(StockAdjustment adjustment) {
+        return stockManager.reserve(adjustment);
     }
 
     @Override
-    public Product updateProduct(Product product) {
-        return productRepository.save(product);
+    public void releaseReservedStock(StockAdjustment adjustment) {
+        stockManager.releaseReserved(adjustment);
+    }
+
+    @Override
+    public void commitReservedStock(StockAdjustment adjustment) {
+        stockManager.commitReserved(adjustment);
     }
 
     @Override
     @Loggable(action = "UPDATE", entity = "Product", message = "Updated product price")
     public String updateProductPrice(String productId, BigDecimal price, BigDecimal discountPrice) {
-        User currentUser = userProvider.getAuthenticatedUser();
+        String currentUserId = userProvider.getAuthenticatedUserId();
         Product existingProduct = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
 
-        if (!currentUser.getUserId().equals(existingProduct.getMerchantId())) {
+        if (!currentUserId.equals(existingProduct.getMerchantId())) {
             throw new UnauthorizedException("You do not have permission to update this product");
         }
 
-        existingProduct.setPrice(price);
-        existingProduct.setDiscountPrice(discountPrice);
-        productRepository.save(existingProduct);
+        productRepository.updatePrice(productId, price, discountPrice);
 
         return "Product price updated successfully";
     }
@@ -102,8 +133,7 @@ public class ProductServiceImpl implements ProductService {
         if (!currentUser.getProductsId().contains(product.getProductId())) {
             throw new UnauthorizedException("You do not have permission to delete this product");
         }
-        product.setDeleted(true);
-        productRepository.save(product);
+        productRepository.updateDeleted(productId, true);
 
         return "Product deleted successfully";
     }
@@ -111,28 +141,20 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Loggable(action = "UPDATE", entity = "Product", message = "Updated Product enabled status")
     public String updateProductEnabledStatus(String productId, boolean enabled) {
-        User currentUser = userProvider.getAuthenticatedUser();
+        String currentUserId = userProvider.getAuthenticatedUserId();
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
-        if (!currentUser.getUserId().equals(product.getMerchantId())) {
+        if (!currentUserId.equals(product.getMerchantId())) {
             throw new UnauthorizedException("You do not have permission to update this product");
         }
-        product.setEnabled(enabled);
-        productRepository.save(product);
+        productRepository.updateEnabled(productId, enabled);
 
         return enabled ? "Product enabled successfully" : "Product disabled successfully";
     }
 
     @Override
     public Page<Product> getFilteredProducts(ProductFilterCriteria criteria, Pageable pageable) {
-        if (criteria != null && criteria.getCategoryId() != null) {
-            List<String> categoryIds = getAllCategoryIds(criteria.getCategoryId());
-            categoryIds.add(criteria.getCategoryId());
-            criteria.setCategoryIds(categoryIds);
-        } else if (criteria != null) {
-            criteria.setCategoryIds(null);
-        }
-
+        resolveExcludedCategories(criteria);
         Page<Product> products = productRepository.findByDynamicCriteria(criteria, pageable);
         if (products == null || products.isEmpty()) {
             throw new ResourceNotFoundException("No products found matching the criteria");
@@ -140,22 +162,42 @@ public class ProductServiceImpl implements ProductService {
         return products;
     }
 
-    private List<String> getAllCategoryIds(String parentId) {
-        List<String> categoryIds = new ArrayList<>();
-        List<Category> subcategories = categoryService.listByParentId(parentId);
+    @Override
+    public ProductFacetPage getFilteredProductsWithFacets(ProductFilterCriteria criteria, Pageable pageable) {
+        resolveExcludedCategories(criteria);
+        ProductFacetPage result = productRepository.findByDynamicCriteriaWithFacets(criteria, pageable);
+        if (result.getPage().isEmpty()) {
+            throw new ResourceNotFoundException("No products found matching the criteria");
+        }
+        return result;
+    }
 
-        for (Category subcategory : subcategories) {
-            categoryIds.add(subcategory.getCategoryId());
-            categoryIds.addAll(getAllCategoryIds(subcategory.getCategoryId()));
+    @Override
+    public ProductScrollResult getFilteredProductsAfter(ProductFilterCriteria criteria, String after, String[] sort, int size) {
+        resolveExcludedCategories(criteria);
+        ProductCursor cursor = (after == null || after.isBlank()) ? null : ProductCursor.decode(after);
+
+        String sortField = cursor != null ? cursor.getSortField() : sort[0];
+        Sort.Direction direction = cursor != null
+                ? cursor.getDirection()
+                : (sort.length > 1 && sort[1].equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC);
+        if (!ProductCursor.SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Cursor pagination does not support sorting by " + sortField);
+        }
+
+        List<Product> products = productRepository.findByDynamicCriteriaAfter(criteria, cursor, sortField, direction, size + 1);
+        if (products.size() <= size) {
+            return new ProductScrollResult(products, null);
         }
 
-        return categoryIds;
+        List<Product> page = products.subList(0, size);
+        String nextCursor = ProductCursor.from(page.getLast(), sortField, direction).encode();
+        return new ProductScrollResult(page, nextCursor);
     }
 
     @Override
     public Page<Product> getMarchantProducts(Pageable pageable) {
-        User currentUser = userProvider.getAuthenticatedUser();
-        Page<Product> products = productRepository.findByMerchantIdAndIsDeletedFalse(currentUser.getUserId(), pageable);
+        Page<Product> products = productRepository.findByMerchantIdAndIsDeletedFalse(userProvider.getAuthenticatedUserId(), pageable);
         if (products == null || products.isEmpty()) {
             throw new ResourceNotFoundException("No products found matching the criteria");
         }
@@ -164,21 +206,35 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public Product getMarchantProductsById(String productId) {
-        User currentUser = userProvider.getAuthenticatedUser();
+        String currentUserId = userProvider.getAuthenticatedUserId();
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
-        if (!currentUser.getUserId().equals(product.getMerchantId())) {
+        if (!currentUserId.equals(product.getMerchantId())) {
            throw new UnauthorizedException("You do not have permission to update this product");
         }
         return product;
     }
 
     @Override
-    public String incrementReviewCount(String productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
-        product.setReviewCount(product.getReviewCount() + 1);
-        productRepository.save(product);
+    public String incrementViewCount(String productId) {
+        if (!productRepository.incrementViewCount(productId)) {
+            throw new ResourceNotFoundException("Product not found with ID: " + productId);
+        }
         return "success";
     }
+
+    @Override
+    public void updateCategoryPaths(Map<String, List<String>> pathsByCategoryId) {
+        if (pathsByCategoryId.isEmpty()) {
+            return;
+        }
+        productRepository.updateCategoryPaths(pathsByCategoryId);
+    }
+
+    private void resolveExcludedCategories(ProductFilterCriteria criteria) {
+        if (criteria != null) {
+            criteria.setExcludedCategoryIds(criteria.getCategoryId() == null
+                    ? null : categoryService.getDisabledDescendantIds(criteria.getCategoryId()));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.fosso.backend.fosso_backend.product.service.impl;
+
+import com.fosso.backend.fosso_backend.product.dto.StockAdjustment;
+import com.fosso.backend.fosso_backend.product.model.Product;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ProductStockManager {
+
+    private final MongoTemplate mongoTemplate;
+
+    // All-or-nothing: lines already decremented are put back if a later line is short on stock
+    public void decrementStock(List<StockAdjustment> adjustments) {
+        List<StockAdjustment> applied = new ArrayList<>();
+        for (StockAdjustment adjustment : adjustments) {
+            if (!decrement(adjustment)) {
+                incrementStock(applied);
+                throw new IllegalArgumentException("Not enough stock available for this product.");
+            }
+            applied.add(adjustment);
+        }
+    }
+
+    public void incrementStock(List<StockAdjustment> adjustments) {
+        for (StockAdjustment adjustment : adjustments) {
+            Query query = new Query(Criteria.where("_id").is(adjustment.getProductId()));
+            mongoTemplate.updateFirst(query, variantInc(adjustment, adjustment.getQuantity()), Product.class);
+        }
+    }
+
+    // moves quantity from available stock to the variant's reserved counter
+    public boolean reserve(StockAdjustment adjustment) {
+        Update update = variantInc(adjustment, -adjustment.getQuantity())
+                .inc("productVariants.$[v].reservedQuantity", adjustment.getQuantity());
+        return mongoTemplate.updateFirst(guardedQuery(adjustment), update, Product.class).getModifiedCount() == 1;
+    }
+
+    public void releaseReserved(StockAdjustment adjustment) {
+        Update update = variantInc(adjustment, adjustment.getQuantity())
+                .inc("productVariants.$[v].reservedQuantity", -adjustment.getQuantity());
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(adjustment.getProductId())), update, Product.class);
+    }
+
+    public void commitReserved(StockAdjustment adjustment) {
+        Update update = new Update()
+                .inc("productVariants.$[v].reservedQuantity", -adjustment.getQuantity())
+                .filterArray(variantFilter(adjustment));
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(adjustment.getProductId())), update, Product.class);
+    }
+
+    private boolean decrement(StockAdjustment adjustment) {
+        UpdateResult result = mongoTemplate.updateFirst(guardedQuery(adjustment), variantInc(adjustment, -adjustment.getQuantity()), Product.class);
+        return result.getModifiedCount() == 1;
+    }
+
+    private Query guardedQuery(StockAdjustment adjustment) {
+        return new Query(Criteria.where("_id").is(adjustment.getProductId())
+                .and("productVariants").elemMatch(Criteria.where("color").is(adjustment.getColor())
+                        .and("size").is(adjustment.getSize())
+                        .and("stockQuantity").gte(adjustment.getQuantity())));
+    }
+
+    private Update variantInc(StockAdjustment adjustment, int delta) {
+        return new Update()
+                .inc("productVariants.$[v].stockQuantity", delta)
+                .filterArray(variantFilter(adjustment));
+    }
+
+    private Criteria variantFilter(StockAdjustment adjustment) {
+        return Criteria.where("v.color").is(adjustment.getColor())
+                .and("v.size").is(adjustment.getSize());
+    }
+}
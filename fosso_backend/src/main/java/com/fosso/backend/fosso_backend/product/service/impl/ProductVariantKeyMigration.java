@@ -0,0 +1,59 @@
+package com.fosso.backend.fosso_backend.product.service.impl;
+
+import com.fosso.backend.fosso_backend.product.model.Product;
+import com.fosso.backend.fosso_backend.product.model.ProductVariant;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+// color and size filters match colorKey/sizeKey, so variants saved before the keys existed drop out of filtered
+// listings; force-rebuild rewrites every key after ProductVariant.key changes how values fold
+@Component
+@RequiredArgsConstructor
+public class ProductVariantKeyMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductVariantKeyMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.migrations.product-variant-keys.force-rebuild:false}")
+    private boolean forceRebuild;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!forceRebuild && !missingKeys("color", "colorKey") && !missingKeys("size", "sizeKey")) {
+            return;
+        }
+        long colors = backfill("color", "colorKey");
+        long sizes = backfill("size", "sizeKey");
+        logger.info("Backfilled variant keys on {} products for colors and {} for sizes", colors, sizes);
+    }
+
+    // one updateMulti per distinct raw value; array filters touch only the keys, so concurrent stock $inc writes are safe
+    private long backfill(String field, String keyField) {
+        long modified = 0;
+        for (String value : mongoTemplate.findDistinct(new Query(), "productVariants." + field, Product.class, String.class)) {
+            Update update = new Update()
+                    .set("productVariants.$[v]." + keyField, ProductVariant.key(value))
+                    .filterArray(Criteria.where("v." + field).is(value));
+            UpdateResult result = mongoTemplate.updateMulti(
+                    new Query(Criteria.where("productVariants." + field).is(value)), update, Product.class);
+            modified += result.getModifiedCount();
+        }
+        return modified;
+    }
+
+    private boolean missingKeys(String field, String keyField) {
+        return mongoTemplate.exists(new Query(Criteria.where("productVariants").elemMatch(
+                Criteria.where(field).exists(true).and(keyField).exists(false))), Product.class);
+    }
+}
@@ -0,0 +1,27 @@
+package com.fosso.backend.fosso_backend.reservation.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Document(collection = "stock_reservations")
+@CompoundIndex(name = "customer_product_variant_idx",
+        def = "{'customerId': 1, 'productId': 1, 'color': 1, 'size': 1}",
+        unique = true)
+public class StockReservation {
+    @Id
+    private String reservationId;
+    private String customerId;
+    private String productId;
+    private String color;
+    private String size;
+    private int quantity;
+    private LocalDateTime createdDateTime;
+
+    // no TTL: a purged hold would leave its quantity in reservedQuantity, so only the sweeper removes holds
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,13 @@
+package com.fosso.backend.fosso_backend.reservation.repository;
+
+import com.fosso.backend.fosso_backend.reservation.model.StockReservation;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends MongoRepository<StockReservation, String> {
+
+    List<StockReservation> findByCustomerId(String customerId);
+}
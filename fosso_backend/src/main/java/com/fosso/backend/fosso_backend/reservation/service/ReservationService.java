@@ -0,0 +1,13 @@
+package com.fosso.backend.fosso_backend.reservation.service;
+
+import com.fosso.backend.fosso_backend.product.dto.StockAdjustment;
+
+import java.util.List;
+
+public interface ReservationService {
+    void hold(String customerId, StockAdjustment adjustment);
+    void release(String customerId, StockAdjustment adjustment);
+    void releaseAll(String customerId);
+    void commit(String customerId, List<StockAdjustment> adjustments);
+    int releaseExpired();
+}
@@ -0,0 +1,33 @@
+package com.fosso.backend.fosso_backend.reservation.service.impl;
+
+import com.fosso.backend.fosso_backend.reservation.model.StockReservation;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+// the expiresAt index is managed here so the retired TTL index on the same key is dropped before it is replaced
+@Component
+@RequiredArgsConstructor
+public class ReservationIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReservationIndexInitializer.class);
+    private static final String RETIRED_TTL_INDEX = "expires_at_ttl_idx";
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    public void ensureIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(StockReservation.class);
+        if (indexOps.getIndexInfo().stream().anyMatch(index -> index.getName().equals(RETIRED_TTL_INDEX))) {
+            indexOps.dropIndex(RETIRED_TTL_INDEX);
+            logger.info("Dropped TTL index {} on stock_reservations", RETIRED_TTL_INDEX);
+        }
+        indexOps.ensureIndex(new Index().on("expiresAt", Sort.Direction.ASC).named("expires_at_idx"));
+    }
+}
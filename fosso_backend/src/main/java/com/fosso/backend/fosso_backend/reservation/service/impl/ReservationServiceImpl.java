@@ -0,0 +1,150 @@
+package com.fosso.backend.fosso_backend.reservation.service.impl;
+
+import com.fosso.backend.fosso_backend.product.dto.StockAdjustment;
+import com.fosso.backend.fosso_backend.product.service.ProductService;
+import com.fosso.backend.fosso_backend.reservation.model.StockReservation;
+import com.fosso.backend.fosso_backend.reservation.repository.StockReservationRepository;
+import com.fosso.backend.fosso_backend.reservation.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationServiceImpl implements ReservationService {
+
+    private final StockReservationRepository reservationRepository;
+    private final ProductService productService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.reservation.hold-minutes:15}")
+    private long holdMinutes;
+
+    @Value("${app.reservation.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    @Override
+    public void hold(String customerId, StockAdjustment adjustment) {
+        if (!productService.reserveStock(adjustment)) {
+            throw new IllegalArgumentException("Not enough stock available for this product.");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .inc("quantity", adjustment.getQuantity())
+                .set("expiresAt", now.plusMinutes(holdMinutes))
+                .setOnInsert("_id", UUID.randomUUID().toString())
+                .setOnInsert("createdDateTime", now);
+        try {
+            mongoTemplate.upsert(holdQuery(customerId, adjustment), update, StockReservation.class);
+        } catch (RuntimeException e) {
+            productService.releaseReservedStock(adjustment);
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(String customerId, StockAdjustment adjustment) {
+        StockReservation reservation = mongoTemplate.findOne(holdQuery(customerId, adjustment), StockReservation.class);
+        if (reservation == null) {
+            return;
+        }
+
+        int quantity = Math.min(adjustment.getQuantity(), reservation.getQuantity());
+        if (quantity == reservation.getQuantity()) {
+            releaseHold(reservation.getReservationId());
+            return;
+        }
+
+        Query query = new Query(Criteria.where("_id").is(reservation.getReservationId())
+                .and("quantity").gt(quantity));
+        if (mongoTemplate.updateFirst(query, new Update().inc("quantity", -quantity), StockReservation.class).getModifiedCount() == 1) {
+            productService.releaseReservedStock(toAdjustment(reservation, quantity));
+        }
+    }
+
+    @Override
+    public void releaseAll(String customerId) {
+        for (StockReservation reservation : reservationRepository.findByCustomerId(customerId)) {
+            releaseHold(reservation.getReservationId());
+        }
+    }
+
+    @Override
+    public void commit(String customerId, List<StockAdjustment> adjustments) {
+        List<StockAdjustment> committed = new ArrayList<>();
+        List<StockAdjustment> shortfalls = new ArrayList<>();
+
+        for (StockAdjustment adjustment : adjustments) {
+            StockReservation reservation = mongoTemplate.findAndRemove(holdQuery(customerId, adjustment), StockReservation.class);
+            int held = reservation == null ? 0 : reservation.getQuantity();
+            int used = Math.min(held, adjustment.getQuantity());
+
+            if (used > 0) {
+                StockAdjustment usedPart = toAdjustment(adjustment, used);
+                productService.commitReservedStock(usedPart);
+                committed.add(usedPart);
+            }
+            if (held > used) {
+                productService.releaseReservedStock(toAdjustment(adjustment, held - used));
+            }
+            if (adjustment.getQuantity() > used) {
+                shortfalls.add(toAdjustment(adjustment, adjustment.getQuantity() - used));
+            }
+        }
+
+        try {
+            productService.decrementStock(shortfalls);
+        } catch (RuntimeException e) {
+            productService.incrementStock(committed);
+            throw e;
+        }
+    }
+
+    @Override
+    public int releaseExpired() {
+        Query query = new Query(Criteria.where("expiresAt").lt(LocalDateTime.now()));
+        int released = 0;
+        while (released < sweepBatchSize) {
+            StockReservation reservation = mongoTemplate.findAndRemove(query, StockReservation.class);
+            if (reservation == null) {
+                break;
+            }
+            productService.releaseReservedStock(toAdjustment(reservation, reservation.getQuantity()));
+            released++;
+        }
+        return released;
+    }
+
+    private void releaseHold(String reservationId) {
+        StockReservation reservation = mongoTemplate.findAndRemove(
+                new Query(Criteria.where("_id").is(reservationId)), StockReservation.class);
+        if (reservation != null) {
+            productService.releaseReservedStock(toAdjustment(reservation, reservation.getQuantity()));
+        }
+    }
+
+    private Query holdQuery(String customerId, StockAdjustment adjustment) {
+        return new Query(Criteria.where("customerId").is(customerId)
+                .and("productId").is(adjustment.getProductId())
+                .and("color").is(adjustment.getColor())
+                .and("size").is(adjustment.getSize()));
+    }
+
+    private StockAdjustment toAdjustment(StockReservation reservation, int quantity) {
+        return new StockAdjustment(reservation.getProductId(), reservation.getColor(), reservation.getSize(), quantity);
+    }
+
+    private StockAdjustment toAdjustment(StockAdjustment adjustment, int quantity) {
+        return new StockAdjustment(adjustment.getProductId(), adjustment.getColor(), adjustment.getSize(), quantity);
+    }
+}
@@ -0,0 +1,18 @@
+package com.fosso.backend.fosso_backend.reservation.service.impl;
+
+import com.fosso.backend.fosso_backend.reservation.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ReservationSweeper {
+
+    private final ReservationService reservationService;
+
+    @Scheduled(fixedDelayString = "${app.reservation.sweep-interval-ms:60000}")
+    public void releaseExpiredHolds() {
+        reservationService.releaseExpired();
+    }
+}
@@ -38,6 +38,11 @@ public class ReviewController {
         return ResponseEntity.ok(response);
     }
 
+    @DeleteMapping("/{reviewId}")
+    public ResponseEntity<String> deleteReview(@PathVariable String reviewId) {
+        return ResponseEntity.ok(reviewService.deleteReview(reviewId));
+    }
+
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<ReviewDTO>> getReviewsByCustomerId(@PathVariable String customerId) {
         List<Review> reviews = reviewService.getReviewsByCustomerId(customerId);
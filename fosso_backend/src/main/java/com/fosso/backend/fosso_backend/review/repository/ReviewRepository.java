@@ -14,9 +14,6 @@ import java.util.Optional;
 public interface ReviewRepository extends MongoRepository<Review, String> {
     Page<Review> findByProductId(String productId, Pageable pageable);
 
-    @Query("{'productId': ?0}")
-    List<Review> findByProductId(String productId);
-
     List<Review> findByCustomerId(String customerId);
 
     boolean existsByCustomerIdAndProductId(String customerId, String productId);
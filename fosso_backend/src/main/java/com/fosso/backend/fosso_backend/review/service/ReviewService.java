@@ -9,6 +9,7 @@ import java.util.List;
 public interface ReviewService {
     Review saveReview(Review review);
     String updateReview(String reviewId, Review review);
+    String deleteReview(String reviewId);
     List<Review> getReviewsByCustomerId(String customerId);
     Page<Review> getReviewsByProductId(String productId, Pageable pageable);
     Review getReviewByProductIdAndCustomerId(String productId, String customerId);
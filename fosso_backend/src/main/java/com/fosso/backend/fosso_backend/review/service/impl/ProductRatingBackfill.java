@@ -0,0 +1,25 @@
+package com.fosso.backend.fosso_backend.review.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.migrations.product-ratings.enabled", havingValue = "true")
+public class ProductRatingBackfill implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductRatingBackfill.class);
+
+    private final ProductRatingReconciler productRatingReconciler;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long updated = productRatingReconciler.reconcile();
+        logger.info("Backfilled rating aggregates on {} products", updated);
+    }
+}
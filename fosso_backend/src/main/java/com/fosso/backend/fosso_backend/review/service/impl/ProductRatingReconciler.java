@@ -0,0 +1,127 @@
+package com.fosso.backend.fosso_backend.review.service.impl;
+
+import com.fosso.backend.fosso_backend.product.model.Product;
+import com.fosso.backend.fosso_backend.product.service.impl.ProductRatingManager;
+import com.fosso.backend.fosso_backend.review.model.Review;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// recomputes the rating aggregates from the reviews and rewrites only the products that drifted
+@Component
+@RequiredArgsConstructor
+public class ProductRatingReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductRatingReconciler.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Scheduled(cron = "${app.reviews.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    public long reconcile() {
+        Document group = new Document("_id", "$productId")
+                .append("sum", new Document("$sum", "$rating"))
+                .append("count", new Document("$sum", 1));
+        for (int star = 1; star <= 5; star++) {
+            group.append("s" + star, new Document("$sum", new Document("$cond",
+                    List.of(new Document("$eq", List.of("$rating", star)), 1, 0))));
+        }
+
+        Set<String> reviewed = new HashSet<>();
+        Batch batch = new Batch();
+        for (Document totals : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Review.class))
+                .aggregate(List.of(new Document("$group", group)))
+                .allowDiskUse(true)) {
+            String productId = totals.getString("_id");
+            if (productId == null) {
+                continue;
+            }
+            reviewed.add(productId);
+            int[] histogram = new int[6];
+            for (int star = 1; star <= 5; star++) {
+                histogram[star] = ((Number) totals.get("s" + star)).intValue();
+            }
+            batch.add(productId, ((Number) totals.get("sum")).longValue(), ((Number) totals.get("count")).intValue(), histogram);
+        }
+
+        // products whose last review is gone
+        Query rated = new Query(Criteria.where("ratingCount").gt(0));
+        rated.fields().include("_id");
+        try (Stream<Product> products = mongoTemplate.stream(rated, Product.class)) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                if (!reviewed.contains(product.getProductId())) {
+                    batch.add(product.getProductId(), 0, 0, new int[6]);
+                }
+            }
+        }
+
+        long corrected = batch.flush();
+        if (corrected > 0) {
+            logger.warn("Corrected rating aggregates on {} products", corrected);
+        }
+        return corrected;
+    }
+
+    private class Batch {
+        private BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        private int pending;
+        private long modified;
+
+        void add(String productId, long sum, int count, int[] histogram) {
+            Map<String, Integer> histogramValues = new HashMap<>();
+            List<Criteria> inSync = new ArrayList<>();
+            inSync.add(Criteria.where("ratingSum").is(sum));
+            inSync.add(Criteria.where("ratingCount").is(count));
+            inSync.add(Criteria.where("reviewCount").is(count));
+            for (int star = 1; star <= 5; star++) {
+                histogramValues.put(String.valueOf(star), histogram[star]);
+                inSync.add(Criteria.where(ProductRatingManager.histogramField(star)).is(histogram[star]));
+            }
+
+            Query drifted = new Query(Criteria.where("_id").is(productId)
+                    .norOperator(new Criteria().andOperator(inSync.toArray(new Criteria[0]))));
+            Update update = new Update()
+                    .set("ratingSum", sum)
+                    .set("ratingCount", count)
+                    .set("reviewCount", count)
+                    .set("ratingHistogram", histogramValues)
+                    .set("rating", count > 0 ? (double) sum / count : 0.0);
+            bulkOps.updateOne(drifted, update);
+
+            if (++pending == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        long flush() {
+            if (pending > 0) {
+                BulkWriteResult result = bulkOps.execute();
+                modified += result.getModifiedCount();
+                pending = 0;
+                bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+            }
+            return modified;
+        }
+    }
+}
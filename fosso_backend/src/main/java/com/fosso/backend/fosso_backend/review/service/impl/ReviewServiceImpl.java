@@ -6,14 +6,18 @@ import com.fosso.backend.fosso_backend.common.exception.ResourceNotFoundExceptio
 import com.fosso.backend.fosso_backend.common.exception.UnauthorizedException;
 import com.fosso.backend.fosso_backend.product.model.Product;
 import com.fosso.backend.fosso_backend.product.service.ProductService;
+import com.fosso.backend.fosso_backend.product.service.impl.ProductRatingManager;
 import com.fosso.backend.fosso_backend.review.model.Review;
-import com.fosso.backend.fosso_backend.user.model.User;
 import com.fosso.backend.fosso_backend.review.repository.ReviewRepository;
 import com.fosso.backend.fosso_backend.security.AuthenticatedUserProvider;
 import com.fosso.backend.fosso_backend.review.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -27,6 +31,8 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final ProductService productService;
     private final AuthenticatedUserProvider userProvider;
+    private final ProductRatingManager productRatingManager;
+    private final MongoTemplate mongoTemplate;
 
     @Override
     @Loggable(action = "CREATE", entity = "Review", message = "Add a new review")
@@ -34,24 +40,17 @@ public class ReviewServiceImpl implements ReviewService {
         if (reviewRepository.existsByCustomerIdAndProductId(review.getCustomerId(), review.getProductId())) {
             throw new DuplicateResourceException("Review already exists for this product");
         }
-        User currentUser = userProvider.getAuthenticatedUser();
-        if (!currentUser.getUserId().equals(review.getCustomerId())) {
+        if (!userProvider.getAuthenticatedUserId().equals(review.getCustomerId())) {
             throw new UnauthorizedException("You are not authorized to add a review for this product");
         }
+        requireValidRating(review.getRating());
         Product product = productService.getProductById(review.getProductId());
 
         review.setReviewId(UUID.randomUUID().toString());
         review.setReviewDateTime(LocalDateTime.now());
         Review savedReview = reviewRepository.save(review);
 
-        List<Review> reviews = reviewRepository.findByProductId(product.getProductId());
-        double averageRating = reviews.stream()
-                .mapToDouble(Review::getRating)
-                .average()
-                .orElse(0.0);
-        product.setRating(averageRating);
-        product.setReviewCount(product.getReviewCount() + 1);
-        productService.updateProduct(product);
+        productRatingManager.applyRatingChange(product.getProductId(), 0, savedReview.getRating());
 
         return savedReview;
     }
@@ -59,14 +58,41 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     @Loggable(action = "UPDATE", entity = "Review", message = "Updated review")
     public String updateReview(String reviewId, Review review) {
+        requireValidRating(review.getRating());
+        String customerId = userProvider.getAuthenticatedUserId();
+        // returns the review as it was, so the rating delta is exact even under concurrent edits
+        Review previous = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(reviewId).and("customerId").is(customerId)),
+                new Update().set("rating", review.getRating()).set("comment", review.getComment()),
+                Review.class);
+        if (previous == null) {
+            if (reviewRepository.existsById(reviewId)) {
+                throw new UnauthorizedException("You are not authorized to update this review");
+            }
+            throw new ResourceNotFoundException("Review not found with ID: " + reviewId);
+        }
+
+        productRatingManager.applyRatingChange(previous.getProductId(), previous.getRating(), review.getRating());
+
+        return "Review updated successfully";
+    }
+
+    @Override
+    @Loggable(action = "DELETE", entity = "Review", message = "Deleted review")
+    public String deleteReview(String reviewId) {
         Review existingReview = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with ID: " + reviewId));
+        if (!userProvider.getAuthenticatedUserId().equals(existingReview.getCustomerId())) {
+            throw new UnauthorizedException("You are not authorized to delete this review");
+        }
 
-        existingReview.setRating(review.getRating());
-        existingReview.setComment(review.getComment());
-        reviewRepository.save(existingReview);
+        // only the request that actually removed it adjusts the aggregates
+        Review removed = mongoTemplate.findAndRemove(new Query(Criteria.where("_id").is(reviewId)), Review.class);
+        if (removed != null) {
+            productRatingManager.applyRatingChange(removed.getProductId(), removed.getRating(), 0);
+        }
 
-        return "Review updated successfully";
+        return "Review deleted successfully";
     }
 
     @Override
@@ -91,4 +117,11 @@ public class ReviewServiceImpl implements ReviewService {
         return reviewRepository.findByCustomerIdAndProductId(customerId, productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
     }
-}
+
+    // 0 means "no review" to ProductRatingManager and anything else outside 1..5 would add a histogram key
+    private void requireValidRating(int rating) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.fosso.backend.fosso_backend.search.service;
+
+import com.fosso.backend.fosso_backend.brand.model.Brand;
+import com.fosso.backend.fosso_backend.product.model.Product;
+
+import java.util.List;
+
+public interface ProductSearchService {
+
+    // product ids ordered by BM25 relevance, best first
+    List<String> search(String keyword, int limit);
+
+    void index(Product product);
+
+    void remove(String productId);
+
+    void onBrandSaved(Brand brand);
+
+    void rebuild();
+}
@@ -0,0 +1,166 @@
+package com.fosso.backend.fosso_backend.search.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+// not thread-safe, ProductSearchServiceImpl guards it with a read/write lock
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<String, Integer> docIdsByProductId = new HashMap<>();
+    private String[] productIds = new String[1024];
+    private int[] docLengths = new int[1024];
+    private final BitSet live = new BitSet();
+    private int nextDocId;
+    private int liveCount;
+    private long totalLength;
+
+    // an update gets a fresh doc id so postings stay sorted by appending; the old one becomes a tombstone
+    public void add(String productId, Map<String, Integer> termFrequencies) {
+        remove(productId);
+        if (termFrequencies.isEmpty()) {
+            return;
+        }
+
+        int docId = nextDocId++;
+        if (docId == productIds.length) {
+            productIds = Arrays.copyOf(productIds, docId * 2);
+            docLengths = Arrays.copyOf(docLengths, docId * 2);
+        }
+
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(docId, entry.getValue());
+            length += entry.getValue();
+        }
+
+        productIds[docId] = productId;
+        docLengths[docId] = length;
+        docIdsByProductId.put(productId, docId);
+        live.set(docId);
+        liveCount++;
+        totalLength += length;
+    }
+
+    public void remove(String productId) {
+        Integer docId = docIdsByProductId.remove(productId);
+        if (docId == null) {
+            return;
+        }
+        live.clear(docId);
+        productIds[docId] = null;
+        liveCount--;
+        totalLength -= docLengths[docId];
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    public double deadRatio() {
+        return nextDocId == 0 ? 0 : (double) (nextDocId - liveCount) / nextDocId;
+    }
+
+    public InvertedIndex compact() {
+        int[] newDocIds = new int[nextDocId];
+        InvertedIndex compacted = new InvertedIndex();
+        compacted.productIds = new String[Math.max(1024, liveCount * 2)];
+        compacted.docLengths = new int[compacted.productIds.length];
+
+        for (int docId = 0; docId < nextDocId; docId++) {
+            if (!live.get(docId)) {
+                newDocIds[docId] = -1;
+                continue;
+            }
+            int newDocId = compacted.nextDocId++;
+            newDocIds[docId] = newDocId;
+            compacted.productIds[newDocId] = productIds[docId];
+            compacted.docLengths[newDocId] = docLengths[docId];
+            compacted.docIdsByProductId.put(productIds[docId], newDocId);
+            compacted.live.set(newDocId);
+        }
+        compacted.liveCount = liveCount;
+        compacted.totalLength = totalLength;
+
+        postings.forEach((term, list) -> {
+            PostingList remapped = list.remap(newDocIds);
+            if (remapped.size() > 0) {
+                compacted.postings.put(term, remapped);
+            }
+        });
+        return compacted;
+    }
+
+    // OR semantics like $text; the prefix, when given, expands to up to maxExpansions other indexed terms
+    public List<String> search(List<String> terms, String prefix, int maxExpansions, int limit) {
+        if (liveCount == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        double averageLength = (double) totalLength / liveCount;
+        double[] scores = new double[nextDocId];
+        BitSet touched = new BitSet(nextDocId);
+
+        for (String term : terms) {
+            accumulate(postings.get(term), 1.0, averageLength, scores, touched);
+        }
+
+        if (prefix != null && !prefix.isEmpty()) {
+            NavigableMap<String, PostingList> expansions = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            int expanded = 0;
+            for (Map.Entry<String, PostingList> entry : expansions.entrySet()) {
+                if (expanded++ == maxExpansions) {
+                    break;
+                }
+                if (!terms.contains(entry.getKey())) {
+                    accumulate(entry.getValue(), PREFIX_WEIGHT, averageLength, scores, touched);
+                }
+            }
+        }
+
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, (a, b) -> Double.compare(scores[a], scores[b]));
+        for (int docId = touched.nextSetBit(0); docId >= 0; docId = touched.nextSetBit(docId + 1)) {
+            top.offer(docId);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<String> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(productIds[top.poll()]);
+        }
+        return ranked.reversed();
+    }
+
+    private void accumulate(PostingList list, double weight, double averageLength, double[] scores, BitSet touched) {
+        if (list == null) {
+            return;
+        }
+        // the document frequency still counts tombstones until the next compaction
+        int documentFrequency = Math.min(list.size(), liveCount);
+        double idf = Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+        for (int i = 0; i < list.size(); i++) {
+            int docId = list.docId(i);
+            if (!live.get(docId)) {
+                continue;
+            }
+            int frequency = list.frequency(i);
+            double norm = K1 * (1 - B + B * docLengths[docId] / averageLength);
+            scores[docId] += weight * idf * frequency * (K1 + 1) / (frequency + norm);
+            touched.set(docId);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.fosso.backend.fosso_backend.search.service.impl;
+
+import java.util.Arrays;
+
+// doc ids and term frequencies interleaved in one int array, doc ids ascending
+public class PostingList {
+
+    private int[] entries = new int[4];
+    private int size;
+
+    public void add(int docId, int frequency) {
+        if (size * 2 == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[size * 2] = docId;
+        entries[size * 2 + 1] = frequency;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int docId(int index) {
+        return entries[index * 2];
+    }
+
+    public int frequency(int index) {
+        return entries[index * 2 + 1];
+    }
+
+    // drops entries mapped to -1, keeps the order since the mapping is monotonic
+    public PostingList remap(int[] newDocIds) {
+        PostingList remapped = new PostingList();
+        remapped.entries = new int[Math.max(2, size * 2)];
+        for (int i = 0; i < size; i++) {
+            int newDocId = newDocIds[docId(i)];
+            if (newDocId >= 0) {
+                remapped.entries[remapped.size * 2] = newDocId;
+                remapped.entries[remapped.size * 2 + 1] = frequency(i);
+                remapped.size++;
+            }
+        }
+        remapped.entries = Arrays.copyOf(remapped.entries, Math.max(2, remapped.size * 2));
+        return remapped;
+    }
+}
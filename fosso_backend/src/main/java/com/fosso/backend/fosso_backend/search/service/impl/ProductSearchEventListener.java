@@ -0,0 +1,35 @@
+package com.fosso.backend.fosso_backend.search.service.impl;
+
+import com.fosso.backend.fosso_backend.brand.model.Brand;
+import com.fosso.backend.fosso_backend.product.model.Product;
+import com.fosso.backend.fosso_backend.search.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// keeps the index in step with repository saves; the one template update that edits text fields re-indexes itself
+@Component
+@RequiredArgsConstructor
+public class ProductSearchEventListener extends AbstractMongoEventListener<Object> {
+
+    private final ProductSearchService productSearchService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (event.getSource() instanceof Product product) {
+            productSearchService.index(product);
+        } else if (event.getSource() instanceof Brand brand) {
+            productSearchService.onBrandSaved(brand);
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        // bulk deletes by other filters are left to the scheduled rebuild
+        if (Product.class.equals(event.getType()) && event.getSource().get("_id") instanceof String productId) {
+            productSearchService.remove(productId);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.fosso.backend.fosso_backend.search.service.impl;
+
+import com.fosso.backend.fosso_backend.brand.model.Brand;
+import com.fosso.backend.fosso_backend.common.utils.SearchKeyUtils;
+import com.fosso.backend.fosso_backend.product.model.Product;
+import com.fosso.backend.fosso_backend.search.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService, ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchServiceImpl.class);
+
+    // per-occurrence weights, a name match outranks the same word buried in the description
+    private static final int NAME_WEIGHT = 3;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int SHORT_DESCRIPTION_WEIGHT = 1;
+    private static final int FULL_DESCRIPTION_WEIGHT = 1;
+
+    private final MongoTemplate mongoTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, String> brandNames = new ConcurrentHashMap<>();
+    private final Object rebuildMonitor = new Object();
+
+    private InvertedIndex index = new InvertedIndex();
+    // writes that arrive while a rebuild is streaming, replayed onto the rebuilt index
+    private List<Consumer<InvertedIndex>> pendingWrites;
+
+    @Value("${app.search.prefix-expansions:32}")
+    private int prefixExpansions;
+
+    @Value("${app.search.compaction-ratio:0.3}")
+    private double compactionRatio;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        rebuild();
+    }
+
+    // also picks up writes made by other instances
+    @Scheduled(initialDelayString = "${app.search.rebuild-ms:900000}", fixedDelayString = "${app.search.rebuild-ms:900000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @Override
+    public List<String> search(String keyword, int limit) {
+        List<String> tokens = SearchKeyUtils.tokens(keyword);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        List<String> terms = TextAnalyzer.terms(keyword);
+        // search-as-you-type: the last token may be unfinished
+        String prefix = tokens.getLast().length() >= 2 ? tokens.getLast() : null;
+
+        lock.readLock().lock();
+        try {
+            return index.search(terms, prefix, prefixExpansions, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Product product) {
+        String productId = product.getProductId();
+        Map<String, Integer> termFrequencies = termFrequencies(product, brandName(product.getBrandId()));
+        write(target -> target.add(productId, termFrequencies));
+    }
+
+    @Override
+    public void remove(String productId) {
+        write(target -> target.remove(productId));
+    }
+
+    @Override
+    public void onBrandSaved(Brand brand) {
+        String previous = brandNames.put(brand.getBrandId(), brand.getName());
+        if (previous == null || previous.equals(brand.getName())) {
+            return;
+        }
+        try (Stream<Product> products = mongoTemplate.stream(indexedFields(
+                new Query(Criteria.where("brandId").is(brand.getBrandId()))), Product.class)) {
+            products.forEach(this::index);
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            long started = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                pendingWrites = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            InvertedIndex rebuilt = new InvertedIndex();
+            try {
+                Map<String, String> names = new HashMap<>();
+                Query brandQuery = new Query();
+                brandQuery.fields().include("name");
+                mongoTemplate.find(brandQuery, Brand.class).forEach(brand -> names.put(brand.getBrandId(), brand.getName()));
+                brandNames.putAll(names);
+
+                try (Stream<Product> products = mongoTemplate.stream(indexedFields(new Query()), Product.class)) {
+                    products.forEach(product -> rebuilt.add(product.getProductId(),
+                            termFrequencies(product, names.get(product.getBrandId()))));
+                }
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingWrites = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                logger.error("Product search index rebuild failed, keeping the current index", e);
+                return;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pendingWrites.forEach(write -> write.accept(rebuilt));
+                pendingWrites = null;
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Product search index rebuilt with {} products in {} ms",
+                    rebuilt.size(), System.currentTimeMillis() - started);
+        }
+    }
+
+    private void write(Consumer<InvertedIndex> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(index);
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+            if (index.deadRatio() > compactionRatio) {
+                index = index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String brandName(String brandId) {
+        if (brandId == null) {
+            return null;
+        }
+        return brandNames.computeIfAbsent(brandId, id -> {
+            Brand brand = mongoTemplate.findById(id, Brand.class);
+            return brand != null ? brand.getName() : "";
+        });
+    }
+
+    private static Query indexedFields(Query query) {
+        query.fields().include("productName", "shortDescription", "fullDescription", "brandId");
+        return query;
+    }
+
+    private static Map<String, Integer> termFrequencies(Product product, String brandName) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, product.getProductName(), NAME_WEIGHT);
+        addTerms(frequencies, brandName, BRAND_WEIGHT);
+        addTerms(frequencies, product.getShortDescription(), SHORT_DESCRIPTION_WEIGHT);
+        addTerms(frequencies, product.getFullDescription(), FULL_DESCRIPTION_WEIGHT);
+        return frequencies;
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String term : TextAnalyzer.terms(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.fosso.backend.fosso_backend.search.service.impl;
+
+import com.fosso.backend.fosso_backend.common.utils.SearchKeyUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : SearchKeyUtils.tokens(text)) {
+            if (!STOP_WORDS.contains(token)) {
+                terms.add(stem(token));
+            }
+        }
+        return terms;
+    }
+
+    // Harman's S-stemmer plus the sibilant "-es" plurals: "dresses", "watches" and "boxes" fold onto
+    // "dress", "watch" and "box" without over-stemming brand names
+    public static String stem(String token) {
+        int length = token.length();
+        if (length <= 3 || !Character.isLetter(token.charAt(length - 1))) {
+            return token;
+        }
+        if (token.endsWith("ies") && !token.endsWith("eies") && !token.endsWith("aies")) {
+            return token.substring(0, length - 3) + "y";
+        }
+        if (token.endsWith("sses") || token.endsWith("shes") || token.endsWith("ches")
+                || token.endsWith("xes") || token.endsWith("zzes")) {
+            return token.substring(0, length - 2);
+        }
+        if (token.endsWith("es") && !token.endsWith("aes") && !token.endsWith("ees") && !token.endsWith("oes")) {
+            return token.substring(0, length - 1);
+        }
+        if (token.endsWith("s") && !token.endsWith("us") && !token.endsWith("ss")) {
+            return token.substring(0, length - 1);
+        }
+        return token;
+    }
+}
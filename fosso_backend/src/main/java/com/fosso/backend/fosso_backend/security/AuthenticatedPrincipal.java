@@ -0,0 +1,31 @@
+package com.fosso.backend.fosso_backend.security;
+
+import com.fosso.backend.fosso_backend.common.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Set;
+
+// built from verified token claims, the full User is loaded only on demand
+@Getter
+@AllArgsConstructor
+public class AuthenticatedPrincipal implements Principal {
+    private final String userId;
+    private final String email;
+    private final Set<Role> roles;
+
+    public List<GrantedAuthority> getAuthorities() {
+        return roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.getName()))
+                .toList();
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
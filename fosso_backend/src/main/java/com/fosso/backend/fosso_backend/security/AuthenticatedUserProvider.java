@@ -1,14 +1,69 @@
 package com.fosso.backend.fosso_backend.security;
 
+import com.fosso.backend.fosso_backend.common.enums.Role;
+import com.fosso.backend.fosso_backend.common.exception.ResourceNotFoundException;
 import com.fosso.backend.fosso_backend.user.model.User;
+import com.fosso.backend.fosso_backend.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
+@RequiredArgsConstructor
 public class AuthenticatedUserProvider {
+
+    private static final String USER_ATTRIBUTE = AuthenticatedUserProvider.class.getName() + ".user";
+
+    private final UserRepository userRepository;
+
     public User getAuthenticatedUser() {
+        Object principal = getPrincipal();
+        if (!(principal instanceof AuthenticatedPrincipal claims)) {
+            return (User) principal;
+        }
+
+        // loaded at most once per request
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User user) {
+            return user;
+        }
+        User user = userRepository.findById(claims.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + claims.getUserId()));
+        if (attributes != null) {
+            attributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    public String getAuthenticatedUserId() {
+        Object principal = getPrincipal();
+        if (principal instanceof AuthenticatedPrincipal claims) {
+            return claims.getUserId();
+        }
+        return ((User) principal).getUserId();
+    }
+
+    public String getAuthenticatedEmail() {
+        Object principal = getPrincipal();
+        if (principal instanceof AuthenticatedPrincipal claims) {
+            return claims.getEmail();
+        }
+        return ((User) principal).getEmail();
+    }
+
+    public boolean hasRole(Role role) {
+        Object principal = getPrincipal();
+        if (principal instanceof AuthenticatedPrincipal claims) {
+            return claims.getRoles().contains(role);
+        }
+        return ((User) principal).getRoles().contains(role);
+    }
+
+    private Object getPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return (User) authentication.getPrincipal();
+        return authentication.getPrincipal();
     }
-}
\ No newline at end of file
+}
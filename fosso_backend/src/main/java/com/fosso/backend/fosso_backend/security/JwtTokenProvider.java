@@ -1,9 +1,11 @@
 package com.fosso.backend.fosso_backend.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -22,6 +24,17 @@ public class JwtTokenProvider {
     @Value("${app.jwt.expiration}")
     private long validityInMilliseconds;
 
+    private SecretKey signInKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+    }
+
     public String extractUserEmail(String jwt) {
         return extractClaim(jwt, Claims::getSubject);
     }
@@ -39,13 +52,16 @@ public class JwtTokenProvider {
                 .claims(extraClaims)
                 .issuedAt(now)
                 .expiration(validity)
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
 
     }
     public boolean isTokenValid(String jwt, UserDetails userdetails) {
-        String username = extractUserEmail(jwt);
-        return (username.equals(userdetails.getUsername()) && !isTokenExpired(jwt));
+        return isTokenValid(extractAllClaims(jwt), userdetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userdetails) {
+        return claims.getSubject().equals(userdetails.getUsername()) && !isExpired(claims);
     }
 
     public <T> T extractClaim(String jwt, Function<Claims, T> claimsResolver) {
@@ -54,22 +70,19 @@ public class JwtTokenProvider {
     }
 
     public Claims extractAllClaims(String jwt) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(jwt)
-                .getPayload();
+        // throws for bad signatures and expired tokens
+        return jwtParser.parseSignedClaims(jwt).getPayload();
     }
 
     public SecretKey getSignInKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        return signInKey;
     }
 
     public Boolean isTokenExpired(String jwt) {
-        return extractExpiration(jwt).before(new Date());
+        return isExpired(extractAllClaims(jwt));
     }
 
-    private Date extractExpiration(String jwt) {
-        return extractClaim(jwt, Claims::getExpiration);
+    private boolean isExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
     }
 }
@@ -0,0 +1,66 @@
+package com.fosso.backend.fosso_backend.security;
+
+import com.fosso.backend.fosso_backend.common.enums.Role;
+import com.fosso.backend.fosso_backend.user.model.User;
+import com.fosso.backend.fosso_backend.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class UserStateCache {
+
+    private final UserRepository userRepository;
+    private final Map<String, UserState> states = new ConcurrentHashMap<>();
+
+    @Value("${app.security.user-state-ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${app.security.user-state-max-entries:10000}")
+    private int maxEntries;
+
+    public record UserState(String email, Set<Role> roles, boolean enabled, boolean deleted,
+                            LocalDateTime banExpirationTime, long expiresAt) {
+
+        public boolean isActive() {
+            return enabled && !deleted
+                    && (banExpirationTime == null || !banExpirationTime.isAfter(LocalDateTime.now()));
+        }
+    }
+
+    public Optional<UserState> get(String userId) {
+        long now = System.currentTimeMillis();
+        UserState cached = states.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return Optional.of(cached);
+        }
+
+        Optional<UserState> loaded = userRepository.findAuthStateById(userId)
+                .map(user -> toState(user, now + ttlMs));
+
+        if (states.size() >= maxEntries) {
+            states.values().removeIf(state -> state.expiresAt() <= now);
+            if (states.size() >= maxEntries) {
+                states.clear();
+            }
+        }
+        loaded.ifPresentOrElse(state -> states.put(userId, state), () -> states.remove(userId));
+        return loaded;
+    }
+
+    public void invalidate(String userId) {
+        states.remove(userId);
+    }
+
+    private UserState toState(User user, long expiresAt) {
+        return new UserState(user.getEmail(), Set.copyOf(user.getRoles()), user.isEnabled(), user.isDeleted(),
+                user.getBanExpirationTime(), expiresAt);
+    }
+}
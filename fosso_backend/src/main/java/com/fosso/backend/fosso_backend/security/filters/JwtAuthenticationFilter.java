@@ -1,11 +1,15 @@
 package com.fosso.backend.fosso_backend.security.filters;
 
+import com.fosso.backend.fosso_backend.security.AuthenticatedPrincipal;
 import com.fosso.backend.fosso_backend.security.JwtTokenProvider;
+import com.fosso.backend.fosso_backend.security.UserStateCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,15 +28,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
 
+    private final UserStateCache userStateCache;
+
+    @Value("${app.jwt.claims-principal:true}")
+    private boolean claimsPrincipal;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String jwt = resolveToken(request);
-        if (jwt != null) {
-            String UserEmail = jwtTokenProvider.extractUserEmail(jwt);
+        if (jwt != null && claimsPrincipal) {
+            authenticateFromClaims(jwt, request);
+        } else if (jwt != null) {
+            Claims claims = jwtTokenProvider.extractAllClaims(jwt);
+            String UserEmail = claims.getSubject();
             if (UserEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userdetails = userDetailsService.loadUserByUsername(UserEmail);
-                if (jwtTokenProvider.isTokenValid(jwt, userdetails)) {
+                if (jwtTokenProvider.isTokenValid(claims, userdetails)) {
                     UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                             userdetails,
                             null,
@@ -46,6 +57,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private void authenticateFromClaims(String jwt, HttpServletRequest request) {
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+        // signature and expiration are verified while parsing
+        Claims claims = jwtTokenProvider.extractAllClaims(jwt);
+        String userId = claims.get("id", String.class);
+        if (userId == null) {
+            return;
+        }
+
+        // roles come from the cached state so role changes apply without a new token
+        UserStateCache.UserState state = userStateCache.get(userId).orElse(null);
+        if (state == null || !state.isActive() || !state.email().equals(claims.getSubject())) {
+            return;
+        }
+
+        AuthenticatedPrincipal principal = new AuthenticatedPrincipal(userId, state.email(), state.roles());
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()
+        );
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    }
+
     public String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
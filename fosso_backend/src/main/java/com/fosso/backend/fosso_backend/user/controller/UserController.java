@@ -93,7 +93,7 @@ public class UserController {
     public ResponseEntity<ImageDTO> getAvatar() {
         User currentUser = userProvider.getAuthenticatedUser();
         Image image = imageService.getImageById(currentUser.getImageId(), ImageType.USER_AVATAR);
-        return ResponseEntity.ok().body(ImageMapper.convertToDTO(image));
+        return ResponseEntity.ok().body(ImageMapper.convertToDTO(image, imageService.readContent(image)));
     }
 
     @PostMapping("/me/avatar")
@@ -104,7 +104,7 @@ public class UserController {
         }
         Image image = imageService.uploadImage(file, currentUser.getUserId(), ImageType.USER_AVATAR);
 
-        return ResponseEntity.ok().body(ImageMapper.convertToDTO(image));
+        return ResponseEntity.ok().body(ImageMapper.convertToDTO(image, imageService.readContent(image)));
     }
 
     @PutMapping("/me/password")
@@ -23,4 +23,5 @@ public class AdminUserBriefDTO {
     private String createdDate;
     private int orderCount;
     private BigDecimal totalSpent = BigDecimal.ZERO;
+    private String lastOrderDate;
 }
@@ -30,4 +30,5 @@ public class AdminUserDetailDTO {
     private List<Address> addresses;
     private int orderCount;
     private BigDecimal totalSpent = BigDecimal.ZERO;
+    private String lastOrderDate;
 }
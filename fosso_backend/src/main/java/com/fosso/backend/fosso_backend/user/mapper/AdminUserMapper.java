@@ -2,15 +2,14 @@ package com.fosso.backend.fosso_backend.user.mapper;
 
 import com.fosso.backend.fosso_backend.user.dto.admin.AdminUserBriefDTO;
 import com.fosso.backend.fosso_backend.user.dto.admin.AdminUserDetailDTO;
+import com.fosso.backend.fosso_backend.user.model.CustomerStats;
 import com.fosso.backend.fosso_backend.user.model.User;
 import com.fosso.backend.fosso_backend.common.utils.DateTimeUtils;
 import com.fosso.backend.fosso_backend.common.utils.DateUtils;
 
-import java.math.BigDecimal;
-
 public class AdminUserMapper {
 
-    public static AdminUserDetailDTO toAdminUserDetailDTO(User user, int orderCount, BigDecimal totalPrice) {
+    public static AdminUserDetailDTO toAdminUserDetailDTO(User user, CustomerStats stats) {
         return AdminUserDetailDTO.builder()
                 .userId(user.getUserId())
                 .firstName(user.getFirstName())
@@ -29,12 +28,13 @@ public class AdminUserMapper {
                 .updatedTime(DateTimeUtils.toString(user.getUpdatedTime()))
                 .isDeleted(user.isDeleted())
                 .addresses(user.getAddresses())
-                .orderCount(orderCount)
-                .totalSpent(totalPrice)
+                .orderCount((int) stats.getOrderCount())
+                .totalSpent(stats.getTotalSpent())
+                .lastOrderDate(DateTimeUtils.toString(stats.getLastOrderDateTime()))
                 .build();
     }
 
-    public static AdminUserBriefDTO toAdminUserBriefDTO(User user, int orderCount, BigDecimal totalPrice) {
+    public static AdminUserBriefDTO toAdminUserBriefDTO(User user, CustomerStats stats) {
         return AdminUserBriefDTO.builder()
                 .userId(user.getUserId())
                 .firstName(user.getFirstName())
@@ -45,8 +45,9 @@ public class AdminUserMapper {
                 .enabled(user.isEnabled())
                 .roles(user.getRoles())
                 .createdDate(user.getCreatedTime() != null ? DateUtils.localDateToString(user.getCreatedTime().toLocalDate()): null)
-                .orderCount(orderCount)
-                .totalSpent(totalPrice)
+                .orderCount((int) stats.getOrderCount())
+                .totalSpent(stats.getTotalSpent())
+                .lastOrderDate(DateTimeUtils.toString(stats.getLastOrderDateTime()))
                 .isDeleted(user.isDeleted())
                 .build();
     }
@@ -0,0 +1,25 @@
+package com.fosso.backend.fosso_backend.user.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// read model kept in step with orders, cancelled orders are not counted
+@Data
+@Document(collection = "customer_stats")
+public class CustomerStats {
+    @Id
+    private String customerId;
+    private long orderCount;
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+    private LocalDateTime lastOrderDateTime;
+
+    public static CustomerStats empty(String customerId) {
+        CustomerStats stats = new CustomerStats();
+        stats.setCustomerId(customerId);
+        return stats;
+    }
+}
@@ -3,6 +3,7 @@ package com.fosso.backend.fosso_backend.user.model;
 import com.fosso.backend.fosso_backend.common.enums.Gender;
 import com.fosso.backend.fosso_backend.common.enums.Role;
 import com.fosso.backend.fosso_backend.common.interfaces.LoggableEntity;
+import com.fosso.backend.fosso_backend.common.utils.SearchKeyUtils;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -47,6 +48,9 @@ public class User implements UserDetails, LoggableEntity {
     private LocalDateTime createdTime;
     private LocalDateTime updatedTime;
     private boolean isDeleted = false;
+    // lower-cased name, email and phone keys matched by anchored prefix regexes
+    @Indexed
+    private List<String> searchKeys = new ArrayList<>();
 
     public void setRole(Role role) {
         if (this.roles == null) {
@@ -66,6 +70,27 @@ public class User implements UserDetails, LoggableEntity {
         }
         this.addresses.add(address);
     }
+    public void refreshSearchKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.addAll(SearchKeyUtils.tokens(firstName));
+        keys.addAll(SearchKeyUtils.tokens(lastName));
+        if (email != null) {
+            String normalizedEmail = email.trim().toLowerCase(Locale.ROOT);
+            keys.add(normalizedEmail);
+            int at = normalizedEmail.indexOf('@');
+            if (at > 0) {
+                keys.addAll(SearchKeyUtils.tokens(normalizedEmail.substring(0, at)));
+            }
+        }
+        if (phoneNumber != null) {
+            String digits = phoneNumber.replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                keys.add(digits);
+            }
+        }
+        this.searchKeys = new ArrayList<>(keys);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return roles.stream()
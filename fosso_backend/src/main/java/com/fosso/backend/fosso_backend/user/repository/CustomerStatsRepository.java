@@ -0,0 +1,7 @@
+package com.fosso.backend.fosso_backend.user.repository;
+
+import com.fosso.backend.fosso_backend.user.model.CustomerStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface CustomerStatsRepository extends MongoRepository<CustomerStats, String> {
+}
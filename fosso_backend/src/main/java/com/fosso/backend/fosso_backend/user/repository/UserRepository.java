@@ -8,7 +8,7 @@ import org.springframework.data.mongodb.repository.Query;
 
 import java.util.Optional;
 
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     @Query("{'email': ?0}")
     Optional<User> findByEmail(String email);
@@ -16,11 +16,8 @@ public interface UserRepository extends MongoRepository<User, String> {
     @Query(value = "{'email': ?0}", exists = true)
     boolean existsByEmail(String email);
 
-    @Query("{'$or': [{'firstName': {$regex: ?0, $options: 'i'}}, {'lastName': {$regex: ?0, $options: 'i'}}, {'email': {$regex: ?0, $options: 'i'}}]}")
-    Page<User> findByKeyword(String keyword, Pageable pageable);
-
-    @Query("{'$or': [{'firstName': {$regex: ?0, $options: 'i'}}, {'lastName': {$regex: ?0, $options: 'i'}}, {'email': {$regex: ?0, $options: 'i'}}], 'isDeleted': false}")
-    Page<User> findByKeywordAndIsDeletedFalse(String keyword, Pageable pageable);
+    @Query(value = "{'_id': ?0}", fields = "{'email': 1, 'roles': 1, 'enabled': 1, 'isDeleted': 1, 'banExpirationTime': 1}")
+    Optional<User> findAuthStateById(String userId);
 
     @Query("{'email': ?0, 'isDeleted': false}")
     Optional<User> findByEmailAndNotDeleted(String email);
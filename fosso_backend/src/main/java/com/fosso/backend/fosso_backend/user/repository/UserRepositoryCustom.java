@@ -0,0 +1,9 @@
+package com.fosso.backend.fosso_backend.user.repository;
+
+import com.fosso.backend.fosso_backend.user.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface UserRepositoryCustom {
+    Page<User> searchByPrefix(String keyword, boolean excludeDeleted, Pageable pageable);
+}
@@ -0,0 +1,83 @@
+package com.fosso.backend.fosso_backend.user.repository;
+
+import com.fosso.backend.fosso_backend.common.utils.SearchKeyUtils;
+import com.fosso.backend.fosso_backend.user.model.User;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonRegularExpression;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Repository
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Page<User> searchByPrefix(String keyword, boolean excludeDeleted, Pageable pageable) {
+        List<String> terms = keyword.contains("@")
+                ? List.of(keyword.trim().toLowerCase(Locale.ROOT))
+                : SearchKeyUtils.tokens(keyword);
+        if (terms.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        // every term must prefix some key, each term is an index range scan on searchKeys
+        List<BsonRegularExpression> prefixes = terms.stream()
+                .map(term -> new BsonRegularExpression("^" + SearchKeyUtils.escapeRegex(term)))
+                .toList();
+        Document match = new Document("searchKeys", new Document("$all", prefixes));
+        if (excludeDeleted) {
+            match.append("isDeleted", false);
+        }
+
+        // users with a key equal to a whole term rank ahead of pure prefix hits
+        Document exactHits = new Document("$size", new Document("$setIntersection", List.of("$searchKeys", terms)));
+
+        Document sort = new Document("searchRank", -1);
+        for (Sort.Order order : pageable.getSort()) {
+            String field = order.getProperty().equals("userId") ? "_id" : order.getProperty();
+            sort.append(field, order.isAscending() ? 1 : -1);
+        }
+        if (!sort.containsKey("_id")) {
+            sort.append("_id", 1);
+        }
+
+        List<Document> pipeline = List.of(
+                new Document("$match", match),
+                new Document("$addFields", new Document("searchRank", exactHits)),
+                new Document("$sort", sort),
+                new Document("$facet", new Document()
+                        .append("users", List.of(
+                                new Document("$skip", pageable.getOffset()),
+                                new Document("$limit", pageable.getPageSize()),
+                                new Document("$project", new Document("searchRank", 0))))
+                        .append("total", List.of(new Document("$count", "count")))));
+
+        Document result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .aggregate(pipeline)
+                .first();
+
+        List<User> users = new ArrayList<>();
+        long total = 0;
+        if (result != null) {
+            for (Document user : result.getList("users", Document.class)) {
+                users.add(mongoTemplate.getConverter().read(User.class, user));
+            }
+            List<Document> count = result.getList("total", Document.class);
+            if (!count.isEmpty()) {
+                total = ((Number) count.getFirst().get("count")).longValue();
+            }
+        }
+        return new PageImpl<>(users, pageable, total);
+    }
+}
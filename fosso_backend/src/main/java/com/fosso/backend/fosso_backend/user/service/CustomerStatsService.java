@@ -0,0 +1,15 @@
+package com.fosso.backend.fosso_backend.user.service;
+
+import com.fosso.backend.fosso_backend.user.model.CustomerStats;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface CustomerStatsService {
+    void applyDelta(String customerId, long orderCountDelta, BigDecimal totalSpentDelta, LocalDateTime orderDateTime);
+    CustomerStats getStats(String customerId);
+    Map<String, CustomerStats> getStats(Collection<String> customerIds);
+    void rebuildAll();
+}
@@ -8,12 +8,14 @@ import com.fosso.backend.fosso_backend.user.dto.UserUpdateDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserService {
     User saveUser(User user);
     User getUserById(String userId);
+    List<User> getUsersByIds(Collection<String> userIds);
     boolean isEmailUnique(String email);
     boolean isEmailUnique(String email, String currentUserId);
     Optional<User> getUserByEmail(String email);
@@ -1,8 +1,6 @@
 package com.fosso.backend.fosso_backend.user.service.admin.impl;
 
 import com.fosso.backend.fosso_backend.common.aop.Loggable;
-import com.fosso.backend.fosso_backend.order.model.Order;
-import com.fosso.backend.fosso_backend.order.repository.OrderRepository;
 import com.fosso.backend.fosso_backend.user.dto.AddressDTO;
 import com.fosso.backend.fosso_backend.user.dto.UserUpdateDTO;
 import com.fosso.backend.fosso_backend.common.enums.Role;
@@ -14,9 +12,12 @@ import com.fosso.backend.fosso_backend.user.mapper.AddressMapper;
 import com.fosso.backend.fosso_backend.user.mapper.AdminUserMapper;
 import com.fosso.backend.fosso_backend.user.mapper.UserMapper;
 import com.fosso.backend.fosso_backend.user.model.Address;
+import com.fosso.backend.fosso_backend.user.model.CustomerStats;
 import com.fosso.backend.fosso_backend.user.model.User;
 import com.fosso.backend.fosso_backend.user.repository.UserRepository;
 import com.fosso.backend.fosso_backend.security.AuthenticatedUserProvider;
+import com.fosso.backend.fosso_backend.security.UserStateCache;
+import com.fosso.backend.fosso_backend.user.service.CustomerStatsService;
 import com.fosso.backend.fosso_backend.user.service.UserService;
 import com.fosso.backend.fosso_backend.user.service.admin.AdminUserService;
 import lombok.RequiredArgsConstructor;
@@ -24,7 +25,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -35,7 +35,8 @@ public class AdminUserServiceImpl implements AdminUserService {
     private final UserRepository userRepository;
     private final UserService userService;
     private final AuthenticatedUserProvider userProvider;
-    private final OrderRepository orderRepository;
+    private final UserStateCache userStateCache;
+    private final CustomerStatsService customerStatsService;
 
     @Override
     @Loggable(action = "DELETE", entity = "User", message = "Hard deleted the user")
@@ -44,6 +45,7 @@ public class AdminUserServiceImpl implements AdminUserService {
             throw new ResourceNotFoundException("User not found with ID: " + userId);
         }
         userRepository.deleteById(userId);
+        userStateCache.invalidate(userId);
         return "User deleted successfully";
     }
 
@@ -59,11 +61,13 @@ public class AdminUserServiceImpl implements AdminUserService {
         }
 
         UserMapper.updateUserFromUserUpdateDTO(user, userDetails);
+        user.refreshSearchKeys();
 
         user.setUpdatedTime(LocalDateTime.now());
-        user.setUpdatedBy(userProvider.getAuthenticatedUser().getEmail());
+        user.setUpdatedBy(userProvider.getAuthenticatedEmail());
 
         userRepository.save(user);
+        userStateCache.invalidate(userId);
 
         return "User updated successfully";
     }
@@ -80,7 +84,7 @@ public class AdminUserServiceImpl implements AdminUserService {
             }
         }
         user.setUpdatedTime(LocalDateTime.now());
-        user.setUpdatedBy(userProvider.getAuthenticatedUser().getEmail());
+        user.setUpdatedBy(userProvider.getAuthenticatedEmail());
 
         userRepository.save(user);
 
@@ -94,9 +98,10 @@ public class AdminUserServiceImpl implements AdminUserService {
         user.setEnabled(false);
         user.setBanExpirationTime(LocalDateTime.now().plusDays(banDuration));
         user.setUpdatedTime(LocalDateTime.now());
-        user.setUpdatedBy(userProvider.getAuthenticatedUser().getEmail());
+        user.setUpdatedBy(userProvider.getAuthenticatedEmail());
 
         userRepository.save(user);
+        userStateCache.invalidate(userId);
 
         return "User blocked successfully";
     }
@@ -108,9 +113,10 @@ public class AdminUserServiceImpl implements AdminUserService {
         user.setEnabled(true);
         user.setBanExpirationTime(null);
         user.setUpdatedTime(LocalDateTime.now());
-        user.setUpdatedBy(userProvider.getAuthenticatedUser().getEmail());
+        user.setUpdatedBy(userProvider.getAuthenticatedEmail());
 
         userRepository.save(user);
+        userStateCache.invalidate(userId);
 
         return "User unblocked successfully";
     }
@@ -119,17 +125,16 @@ public class AdminUserServiceImpl implements AdminUserService {
     public Page<AdminUserBriefDTO> findByKeyword(Pageable pageable, String keyword) {
         Page<User> users;
         if (keyword != null && !keyword.isEmpty()) {
-            users = userRepository.findByKeyword(keyword, pageable);
+            users = userRepository.searchByPrefix(keyword, false, pageable);
         } else {
             users = userRepository.findAll(pageable);
         }
 
-        return users.map(user -> {
-            List<Order> orders = fetchUserOrders(user);
-            BigDecimal totalSpend = calculateTotalSpend(orders);
+        Map<String, CustomerStats> statsByUserId = customerStatsService.getStats(
+                users.getContent().stream().map(User::getUserId).toList());
 
-            return AdminUserMapper.toAdminUserBriefDTO(user, orders.size(), totalSpend);
-        });
+        return users.map(user -> AdminUserMapper.toAdminUserBriefDTO(user,
+                statsByUserId.getOrDefault(user.getUserId(), CustomerStats.empty(user.getUserId()))));
     }
 
     @Override
@@ -137,9 +142,7 @@ public class AdminUserServiceImpl implements AdminUserService {
         User user =  userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
-        List<Order> orders = fetchUserOrders(user);
-        BigDecimal totalSpend = calculateTotalSpend(orders);
-        return AdminUserMapper.toAdminUserDetailDTO(user, orders.size(), totalSpend);
+        return AdminUserMapper.toAdminUserDetailDTO(user, customerStatsService.getStats(userId));
     }
 
     @Override
@@ -147,8 +150,7 @@ public class AdminUserServiceImpl implements AdminUserService {
     public String updateUserRole(String userId, Role role) { // needs change
         User user = userService.getUserById(userId);
 
-        User currentAdmin = userProvider.getAuthenticatedUser();
-        if (user.getUserId().equals(currentAdmin.getUserId())) {
+        if (user.getUserId().equals(userProvider.getAuthenticatedUserId())) {
             throw new IllegalStateException("Cannot change your own role");
         }
 
@@ -170,9 +172,10 @@ public class AdminUserServiceImpl implements AdminUserService {
                 throw new IllegalArgumentException("Invalid role provided");
         }
         user.setUpdatedTime(LocalDateTime.now());
-        user.setUpdatedBy(currentAdmin.getEmail());
+        user.setUpdatedBy(userProvider.getAuthenticatedEmail());
 
         userRepository.save(user);
+        userStateCache.invalidate(userId);
 
         return "User role updated successfully";
     }
@@ -190,24 +193,12 @@ public class AdminUserServiceImpl implements AdminUserService {
        user.setDeleted(false);
        user.setEnabled(true);
        user.setUpdatedTime(LocalDateTime.now());
-       user.setUpdatedBy(userProvider.getAuthenticatedUser().getEmail());
+       user.setUpdatedBy(userProvider.getAuthenticatedEmail());
 
        userRepository.save(user);
+       userStateCache.invalidate(userId);
 
        return "User restored successfully";
    }
 
-    private List<Order> fetchUserOrders(User user) {
-        List<Order> orders =orderRepository.findByCustomerId(user.getUserId());
-        if (orders.isEmpty()) {
-            return Collections.emptyList();
-        }
-        return orders;
-    }
-
-    private BigDecimal calculateTotalSpend(List<Order> orders) {
-        return orders.stream()
-                .map(Order::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
 }
@@ -75,6 +75,7 @@ public class AuthServiceImpl implements AuthService {
         user.setUserId(UUID.randomUUID().toString());
         user.setCreatedTime(LocalDateTime.now());
         user.setUpdatedTime(LocalDateTime.now());
+        user.refreshSearchKeys();
 
         userService.saveUser(user);
         return "User registered successfully";
@@ -0,0 +1,26 @@
+package com.fosso.backend.fosso_backend.user.service.impl;
+
+import com.fosso.backend.fosso_backend.user.service.CustomerStatsService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.migrations.customer-stats.enabled", havingValue = "true")
+public class CustomerStatsBackfill implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerStatsBackfill.class);
+
+    private final CustomerStatsService customerStatsService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        customerStatsService.rebuildAll();
+        logger.info("Rebuilt customer_stats from orders");
+    }
+}
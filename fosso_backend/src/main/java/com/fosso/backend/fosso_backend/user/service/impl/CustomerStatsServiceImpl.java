@@ -0,0 +1,135 @@
+package com.fosso.backend.fosso_backend.user.service.impl;
+
+import com.fosso.backend.fosso_backend.common.enums.OrderStatus;
+import com.fosso.backend.fosso_backend.order.model.Order;
+import com.fosso.backend.fosso_backend.user.model.CustomerStats;
+import com.fosso.backend.fosso_backend.user.repository.CustomerStatsRepository;
+import com.fosso.backend.fosso_backend.user.service.CustomerStatsService;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class CustomerStatsServiceImpl implements CustomerStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerStatsServiceImpl.class);
+
+    private final CustomerStatsRepository customerStatsRepository;
+    private final MongoTemplate mongoTemplate;
+
+    // customers whose delta failed, recomputed from their orders; the nightly reconcile covers a restart
+    private final Set<String> failedCustomerIds = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void applyDelta(String customerId, long orderCountDelta, BigDecimal totalSpentDelta, LocalDateTime orderDateTime) {
+        if (orderCountDelta == 0 && totalSpentDelta.signum() == 0 && orderDateTime == null) {
+            return;
+        }
+        Update update = new Update()
+                .inc("orderCount", orderCountDelta)
+                .inc("totalSpent", totalSpentDelta);
+        if (orderDateTime != null) {
+            update.max("lastOrderDateTime", orderDateTime);
+        }
+        try {
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(customerId)), update, CustomerStats.class);
+        } catch (RuntimeException e) {
+            failedCustomerIds.add(customerId);
+            logger.error("Failed to update stats for customer {}", customerId, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.customer-stats.resync-ms:60000}")
+    public void resyncFailed() {
+        for (String customerId : Set.copyOf(failedCustomerIds)) {
+            try {
+                rebuild(customerId);
+                failedCustomerIds.remove(customerId);
+            } catch (RuntimeException e) {
+                logger.error("Failed to rebuild stats for customer {}", customerId, e);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.customer-stats.reconcile-cron:0 15 4 * * *}")
+    public void scheduledReconcile() {
+        rebuildAll();
+    }
+
+    @Override
+    public CustomerStats getStats(String customerId) {
+        return customerStatsRepository.findById(customerId)
+                .orElseGet(() -> CustomerStats.empty(customerId));
+    }
+
+    @Override
+    public Map<String, CustomerStats> getStats(Collection<String> customerIds) {
+        return customerStatsRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(CustomerStats::getCustomerId, Function.identity()));
+    }
+
+    @Override
+    public void rebuildAll() {
+        // stats are overwritten in place so reads never see an empty collection mid-rebuild
+        Date rebuiltAt = new Date();
+        mergeStats(new Document("status", new Document("$ne", OrderStatus.CANCELLED.name())), rebuiltAt);
+
+        // customers left untouched no longer have a counted order
+        Query stale = new Query(Criteria.where("rebuiltAt").ne(rebuiltAt));
+        stale.fields().include("_id");
+        List<String> staleIds;
+        try (Stream<CustomerStats> stats = mongoTemplate.stream(stale, CustomerStats.class)) {
+            staleIds = stats.map(CustomerStats::getCustomerId).toList();
+        }
+        staleIds.forEach(this::rebuild);
+    }
+
+    private void rebuild(String customerId) {
+        Criteria counted = Criteria.where("customerId").is(customerId)
+                .and("status").ne(OrderStatus.CANCELLED.name());
+        if (mongoTemplate.exists(new Query(counted), Order.class)) {
+            mergeStats(counted.getCriteriaObject(), new Date());
+        } else {
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(customerId)), CustomerStats.class);
+        }
+    }
+
+    private void mergeStats(Document match, Date rebuiltAt) {
+        List<Document> pipeline = List.of(
+                new Document("$match", match),
+                new Document("$group", new Document("_id", "$customerId")
+                        .append("orderCount", new Document("$sum", 1L))
+                        .append("totalSpent", new Document("$sum", "$total"))
+                        .append("lastOrderDateTime", new Document("$max", "$orderDateTime"))),
+                new Document("$addFields", new Document("rebuiltAt", rebuiltAt)),
+                new Document("$merge", new Document()
+                        .append("into", mongoTemplate.getCollectionName(CustomerStats.class))
+                        .append("on", "_id")
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert")));
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Order.class))
+                .aggregate(pipeline)
+                .toCollection();
+    }
+}
@@ -0,0 +1,38 @@
+package com.fosso.backend.fosso_backend.user.service.impl;
+
+import com.fosso.backend.fosso_backend.common.utils.BackfillUtils;
+import com.fosso.backend.fosso_backend.user.model.User;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+// the admin user search matches on searchKeys only, so accounts created before them never show up until they are
+// filled; force-rebuild recomputes every account after the name, email or phone normalization changes
+@Component
+@RequiredArgsConstructor
+public class UserSearchKeyMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchKeyMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.migrations.user-search-keys.force-rebuild:false}")
+    private boolean forceRebuild;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long updated = BackfillUtils.fillMissing(mongoTemplate, User.class, "searchKeys", forceRebuild,
+                User::getUserId,
+                user -> {
+                    user.refreshSearchKeys();
+                    return user.getSearchKeys();
+                },
+                "firstName", "lastName", "email", "phoneNumber");
+        logger.info("Backfilled search keys for {} users", updated);
+    }
+}
@@ -12,6 +12,7 @@ import com.fosso.backend.fosso_backend.user.model.Address;
 import com.fosso.backend.fosso_backend.user.model.User;
 import com.fosso.backend.fosso_backend.user.repository.UserRepository;
 import com.fosso.backend.fosso_backend.security.AuthenticatedUserProvider;
+import com.fosso.backend.fosso_backend.security.UserStateCache;
 import com.fosso.backend.fosso_backend.user.service.UserService;
 import com.fosso.backend.fosso_backend.user.dto.UserUpdateDTO;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +31,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticatedUserProvider userProvider;
+    private final UserStateCache userStateCache;
 
     @Override
     public boolean isEmailUnique(String email) {
@@ -48,6 +50,11 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
     }
 
+    @Override
+    public List<User> getUsersByIds(Collection<String> userIds) {
+        return userRepository.findAllById(userIds);
+    }
+
     @Override
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmailAndNotDeleted(email);
@@ -62,7 +69,7 @@ public class UserServiceImpl implements UserService {
     public Page<User> getUsersByPage(String keyword, Pageable pageable) {
         Page<User> userPage;
         if (keyword != null && !keyword.isEmpty()) {
-            userPage = userRepository.findByKeywordAndIsDeletedFalse(keyword, pageable);
+            userPage = userRepository.searchByPrefix(keyword, true, pageable);
         } else {
             userPage = userRepository.findByIsDeletedFalse(pageable);
         }
@@ -83,11 +90,14 @@ public class UserServiceImpl implements UserService {
         }
 
         UserMapper.updateUserFromUserUpdateDTO(user, profileDTO);
+        user.refreshSearchKeys();
 
         user.setUpdatedTime(LocalDateTime.now());
         user.setUpdatedBy(user.getEmail());
 
-        return userRepository.save(user);
+        User updated = userRepository.save(user);
+        userStateCache.invalidate(updated.getUserId());
+        return updated;
     }
 
     @Override
@@ -185,6 +195,7 @@ public class UserServiceImpl implements UserService {
         user.setUpdatedTime(LocalDateTime.now());
         user.setUpdatedBy(user.getEmail());
         userRepository.save(user);
+        userStateCache.invalidate(user.getUserId());
 
         return "User deleted successfully";
     }
@@ -31,9 +31,9 @@ export const productApiSlice = apiClientSlice.injectEndpoints({
       }),
     }),
 
-    incrementReviewCount: builder.mutation<string, string>({
+    incrementViewCount: builder.mutation<string, string>({
       query: (productId) => ({
-        url: `products/${productId}/review-count/increment`,
+        url: `products/${productId}/view-count/increment`,
         method: "PUT",
       }),
     }),
@@ -43,5 +43,5 @@ export const productApiSlice = apiClientSlice.injectEndpoints({
 export const {
   useGetAllProductsQuery,
   useGetProductByIdQuery,
-  useIncrementReviewCountMutation,
+  useIncrementViewCountMutation,
 } = productApiSlice;
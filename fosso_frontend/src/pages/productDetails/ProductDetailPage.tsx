@@ -6,7 +6,7 @@ import { ChevronLeft } from "lucide-react";
 import type { ProductVariantDTO } from "../../types/product";
 import {
   useGetProductByIdQuery,
-  useIncrementReviewCountMutation,
+  useIncrementViewCountMutation,
 } from "../../api/ProductApiSlice";
 import { getReviewByProductIdAndCustomerId } from "../../api/Review";
 import type { ErrorResponse } from "../../types/error";
@@ -44,7 +44,7 @@ const ProductDetailPage: React.FC = () => {
   const [isOpen, setIsOpen] = useState(false);
   const [hasReviewed, setHasReviewed] = useState<boolean>(false);
 
-  const [incrementReviewCount] = useIncrementReviewCountMutation();
+  const [incrementViewCount] = useIncrementViewCountMutation();
 
   const {
     data: product,
@@ -81,13 +81,13 @@ const ProductDetailPage: React.FC = () => {
     const fetchReviewAndIncementReview = async () => {
       try {
         if (id) {
-          // Increment review count
+          // Count the first view of this product
           const viewedProducts = JSON.parse(
             localStorage.getItem("viewedProducts") || "[]"
           );
 
           if (!viewedProducts.includes(id)) {
-            await incrementReviewCount(id);
+            await incrementViewCount(id);
             localStorage.setItem(
               "viewedProducts",
               JSON.stringify([...viewedProducts, id])
@@ -41,6 +41,7 @@ export interface AdminProductDetailedDTO {
   gender: Gender;
   season: Season;
   reviewCount: number;
+  viewCount: number;
   productVariants: ProductVariantDTO[];
   mainImagesId: string[];
   imagesId: string[];
@@ -104,6 +104,7 @@ export interface ProductMerchantDTO {
   rating: number;
   createdDateTime: string;
   reviewCount: number;
+  viewCount: number;
   enabled: boolean;
   productVariants: ProductVariantDTO[];
   gender: Gender;